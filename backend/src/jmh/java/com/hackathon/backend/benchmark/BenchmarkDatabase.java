@@ -0,0 +1,126 @@
+package com.hackathon.backend.benchmark;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Builds an embedded H2 database with the application schema and a deterministic set of users,
+// each offering two skills and wanting one. Seeded before the application starts, so the search
+// index and stats counters are built over the full data set just like after a restart.
+final class BenchmarkDatabase {
+
+    static final String USERNAME = "sa";
+    static final String PASSWORD = "password";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Arjun", "Diya",
+            "Kabir", "Isha", "Dev", "Sana", "Nikhil", "Tara", "Yash", "Nisha"};
+    private static final String[] LAST_NAMES = {"Patel", "Shah", "Mehta", "Desai", "Iyer", "Rao", "Joshi", "Kapoor",
+            "Nair", "Gupta", "Singh", "Reddy"};
+    private static final String[] SKILLS = {"Java", "Spring Boot", "React", "Python", "SQL", "Docker", "Kubernetes",
+            "Guitar", "Photography", "Cooking", "Yoga", "Spanish", "French", "Excel", "Figma", "Public Speaking",
+            "Marketing", "Writing", "Drawing", "Piano", "Chess", "Machine Learning", "Go", "Rust", "Swift", "Kotlin",
+            "Video Editing", "Gardening", "Baking", "Running", "Statistics", "Accounting", "Calligraphy", "Knitting",
+            "Carpentry", "Welding", "Singing", "Dancing", "Pottery", "Sketching"};
+    private static final String[] AVAILABILITY = {"FLEXIBLE", "WEEKEND", "WORKING"};
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static String url(int users) {
+        return "jdbc:h2:mem:benchmark-" + users + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    static void seed(String url, int users) throws SQLException {
+        Flyway.configure()
+                .dataSource(url, USERNAME, PASSWORD)
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD)) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into skills (id, name, category, created_at) values (?, ?, 'Technology', ?)")) {
+                for (int i = 0; i < SKILLS.length; i++) {
+                    insert.setLong(1, i + 1);
+                    insert.setString(2, SKILLS[i]);
+                    insert.setTimestamp(3, now);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            try (PreparedStatement user = connection.prepareStatement("""
+                    insert into users (id, first_name, last_name, email, password, email_verified, active,
+                        is_profile_public, receive_notifications, bio, location, average_rating, total_reviews,
+                        completed_swaps, availability, created_at, updated_at)
+                    values (?, ?, ?, ?, ?, true, true, ?, true, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """);
+                 PreparedStatement role = connection.prepareStatement(
+                         "insert into user_roles (user_id, roles) values (?, 'USER')");
+                 PreparedStatement skill = connection.prepareStatement(
+                         "insert into user_skills (id, user_id, skill_id, type, proficiency_level) values (?, ?, ?, ?, ?)")) {
+                long userSkillId = 0;
+                for (int id = 1; id <= users; id++) {
+                    user.setLong(1, id);
+                    user.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    user.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    user.setString(4, "user" + id + "@example.com");
+                    user.setString(5, "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+                    user.setBoolean(6, random.nextInt(10) != 0);
+                    user.setString(7, "Happy to swap skills.");
+                    user.setString(8, "Gandhinagar");
+                    user.setDouble(9, Math.round(random.nextDouble() * 50) / 10.0);
+                    user.setInt(10, random.nextInt(50));
+                    user.setInt(11, random.nextInt(20));
+                    user.setString(12, AVAILABILITY[random.nextInt(AVAILABILITY.length)]);
+                    user.setTimestamp(13, now);
+                    user.setTimestamp(14, now);
+                    user.addBatch();
+
+                    role.setLong(1, id);
+                    role.addBatch();
+
+                    int first = random.nextInt(SKILLS.length);
+                    int[] skillIds = {first, (first + 1 + random.nextInt(SKILLS.length - 1)) % SKILLS.length,
+                            random.nextInt(SKILLS.length)};
+                    for (int s = 0; s < skillIds.length; s++) {
+                        skill.setLong(1, ++userSkillId);
+                        skill.setLong(2, id);
+                        skill.setLong(3, skillIds[s] + 1);
+                        skill.setString(4, s < 2 ? "OFFERED" : "WANTED");
+                        skill.setInt(5, 1 + random.nextInt(5));
+                        skill.addBatch();
+                    }
+
+                    if (id % BATCH_SIZE == 0 || id == users) {
+                        user.executeBatch();
+                        role.executeBatch();
+                        skill.executeBatch();
+                        connection.commit();
+                    }
+                }
+
+                // Keep identity and sequence values clear of the seeded ids
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("alter table users alter column id restart with " + (users + 1));
+                    statement.execute("alter table skills alter column id restart with " + (SKILLS.length + 1));
+                    statement.execute("alter sequence user_skills_seq restart with " + (userSkillId + 1));
+                }
+                connection.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hackathon.backend.benchmark;
+
+import com.hackathon.backend.BackendApplication;
+import com.hackathon.backend.dto.PlatformStatsDTO;
+import com.hackathon.backend.dto.ProfileSearchResponse;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.service.ProfileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.AopTestUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The whole application in-process against a seeded embedded database. Each users value runs in
+// its own fork; the 1M case needs several GB of heap and minutes of seeding. For a quick run:
+// mvn -Pbenchmarks verify -Djmh.args="ProfileServiceBenchmark -p users=10000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ProfileServiceBenchmark {
+
+    private static final int PAGE_SIZE = 6;
+
+    @Param({"10000", "100000", "1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private ProfileService profileService;
+    private Object profileServiceTarget;
+    private Method convertToProfileDTOs;
+    private List<User> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = BenchmarkDatabase.url(users);
+        BenchmarkDatabase.seed(url, users);
+
+        // As arguments rather than builder properties, which application.properties would override
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=" + url,
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--app.housekeeping.enabled=false");
+        profileService = context.getBean(ProfileService.class);
+
+        // The mapping step on its own, on the users of the first page. It is private, so it is
+        // called on the service behind the transaction proxy.
+        profileServiceTarget = AopTestUtils.getUltimateTargetObject(profileService);
+        convertToProfileDTOs = profileServiceTarget.getClass().getDeclaredMethod("convertToProfileDTOs", List.class);
+        convertToProfileDTOs.setAccessible(true);
+        page = context.getBean(UserRepository.class).findPublicProfiles(PageRequest.of(0, PAGE_SIZE)).getContent();
+
+        // Fast but empty answers would make every number here meaningless
+        if (page.size() != PAGE_SIZE || searchFirstPage().getProfiles().size() != PAGE_SIZE) {
+            throw new IllegalStateException("Seeded database returned no public profiles");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProfileSearchResponse searchFirstPage() {
+        return profileService.searchProfiles(null, null, 0, PAGE_SIZE);
+    }
+
+    // Past the first few pages the offset scan starts to dominate
+    @Benchmark
+    public ProfileSearchResponse searchDeepPage() {
+        return profileService.searchProfiles(null, null, users / PAGE_SIZE / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProfileSearchResponse searchByText() {
+        return profileService.searchProfiles("ava", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PlatformStatsDTO getPlatformStats() {
+        return profileService.getPlatformStats();
+    }
+
+    @Benchmark
+    public Object convertToProfileDTOs() throws Exception {
+        return convertToProfileDTOs.invoke(profileServiceTarget, page);
+    }
+}
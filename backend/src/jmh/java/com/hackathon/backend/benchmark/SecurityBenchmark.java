@@ -0,0 +1,73 @@
+package com.hackathon.backend.benchmark;
+
+import com.hackathon.backend.entity.Role;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.security.JwtUtils;
+import com.hackathon.backend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request authentication work: token verification and principal construction
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTAuthenticationOfAtLeast256Bits";
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", (int) TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        user = new User("Bench", "Mark", "bench@example.com", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+        user.setId(42L);
+        user.getRoles().add(Role.MODERATOR);
+
+        UserPrincipal principal = UserPrincipal.create(user);
+        token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    // What AuthTokenFilter does for every authenticated request
+    @Benchmark
+    public UserPrincipal principalFromToken() {
+        return UserPrincipal.fromClaims(jwtUtils.parseClaims(token));
+    }
+
+    @Benchmark
+    public UserPrincipal createPrincipal() {
+        return UserPrincipal.create(user);
+    }
+}
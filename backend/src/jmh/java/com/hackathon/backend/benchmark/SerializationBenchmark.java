@@ -0,0 +1,73 @@
+package com.hackathon.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.backend.dto.ProfileSearchResponse;
+import com.hackathon.backend.dto.UserProfileDTO;
+import com.hackathon.backend.entity.Availability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of a /api/profiles response page
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"6", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ProfileSearchResponse response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<UserProfileDTO> profiles = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserProfileDTO profile = new UserProfileDTO();
+            profile.setId((long) i);
+            profile.setFirstName("First" + i);
+            profile.setLastName("Last" + i);
+            profile.setProfilePhoto("/uploads/profile-photos/ab/cd/" + i + ".jpg");
+            profile.setProfilePhotoVariants(Map.of(64, "/uploads/profile-photos/ab/cd/" + i + "-64.jpg",
+                    256, "/uploads/profile-photos/ab/cd/" + i + "-256.jpg"));
+            profile.setLocation("Gandhinagar");
+            profile.setBio("Happy to trade an hour of Java for an hour of guitar.");
+            profile.setAverageRating(4.5);
+            profile.setTotalReviews(12);
+            profile.setCompletedSwaps(7);
+            profile.setAvailability(Availability.WEEKEND);
+            profile.setSkillsOffered(List.of("Java", "Spring Boot", "SQL"));
+            profile.setSkillsWanted(List.of("Guitar", "Photography"));
+            profiles.add(profile);
+        }
+        response = new ProfileSearchResponse(new PageImpl<>(profiles, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serializeProfileSearchResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hackathon.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/latency: p50/p90/p99/p999/max in milliseconds over the last 1 and 5 minutes
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    @Autowired
+    private LatencyHistograms latencyHistograms;
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Object>>> latency() {
+        return latencyHistograms.snapshot();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hackathon.backend.config;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Latency histograms keyed by name ("http GET /api/profiles 2xx", "service ProfileService.searchProfiles", ...).
+// Recording goes into an HdrHistogram Recorder and is wait-free and allocation-free. Every slice the
+// recorder's interval is moved into a ring of slices; the reported windows are sums of the newest
+// slices, so they trail the live traffic by at most one slice.
+@Component
+public class LatencyHistograms {
+
+    // Values are microseconds, 1us..60s at two significant digits (1% precision)
+    private static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    // 10s slices; the windows are the newest 6 and 30 of them
+    private static final long SLICE_MILLIS = 10_000;
+    private static final String[] WINDOW_NAMES = {"1m", "5m"};
+    private static final int[] WINDOW_SLICES = {6, 30};
+    private static final int SLICES = 30;
+
+    private final Map<String, SlidingHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String name, long nanos) {
+        histograms.computeIfAbsent(name, n -> new SlidingHistogram()).record(nanos);
+    }
+
+    @Scheduled(fixedRate = SLICE_MILLIS)
+    public void rotate() {
+        for (SlidingHistogram histogram : histograms.values()) {
+            histogram.rotate();
+        }
+    }
+
+    // name -> window -> statistics in milliseconds
+    public Map<String, Map<String, Map<String, Object>>> snapshot() {
+        Map<String, Map<String, Map<String, Object>>> snapshot = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshot.put(name, histogram.snapshot()));
+        return snapshot;
+    }
+
+    private static final class SlidingHistogram {
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram[] slices = new Histogram[SLICES];
+        private int newest = -1;
+
+        private void record(long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            recorder.recordValue(Math.max(1, Math.min(micros, HIGHEST_MICROS)));
+        }
+
+        private synchronized void rotate() {
+            int next = (newest + 1) % SLICES;
+            // The slice falling out of the window is handed back to the recorder for reuse
+            slices[next] = slices[next] != null
+                    ? recorder.getIntervalHistogram(slices[next])
+                    : recorder.getIntervalHistogram();
+            newest = next;
+        }
+
+        private synchronized Map<String, Map<String, Object>> snapshot() {
+            Map<String, Map<String, Object>> windows = new LinkedHashMap<>();
+            for (int w = 0; w < WINDOW_NAMES.length; w++) {
+                Histogram sum = new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+                for (int i = 0; i < WINDOW_SLICES[w] && newest >= 0; i++) {
+                    Histogram slice = slices[Math.floorMod(newest - i, SLICES)];
+                    if (slice != null) {
+                        sum.add(slice);
+                    }
+                }
+                windows.put(WINDOW_NAMES[w], statistics(sum));
+            }
+            return windows;
+        }
+
+        private static Map<String, Object> statistics(Histogram histogram) {
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("count", histogram.getTotalCount());
+            statistics.put("p50", millis(histogram.getValueAtPercentile(50)));
+            statistics.put("p90", millis(histogram.getValueAtPercentile(90)));
+            statistics.put("p99", millis(histogram.getValueAtPercentile(99)));
+            statistics.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            statistics.put("max", millis(histogram.getMaxValue()));
+            return statistics;
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
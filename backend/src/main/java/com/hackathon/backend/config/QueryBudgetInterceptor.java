@@ -0,0 +1,83 @@
+package com.hackathon.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+// Publishes the database work of every controller call, tagged with the handler method
+// (e.g. endpoint=ProfileController.getProfiles), and warns when a call runs more JDBC
+// statements than app.db.query-budget allows. A sudden jump usually means an N+1 crept in.
+// An async handler (login) is charged for its async dispatch only; work on other threads is not seen.
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    @Value("${app.db.query-budget:20}")
+    private int queryBudget;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestQueryStats.start();
+        }
+        return true;
+    }
+
+    // afterCompletion is not called when the handler goes async; unbind so nothing leaks to the next
+    // request served by this thread
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.stop();
+        if (stats == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+
+        String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        DistributionSummary.builder("db.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("db.request.time")
+                .description("Time spent executing JDBC statements per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getStatementNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("db.request.entities.loaded")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getEntitiesLoaded());
+        DistributionSummary.builder("db.request.collections.fetched")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getCollectionsFetched());
+
+        if (stats.getStatements() > queryBudget) {
+            meterRegistry.counter("db.request.budget.exceeded", "endpoint", endpoint).increment();
+            log.warn("Query budget exceeded: endpoint={} method={} uri={} status={} statements={} budget={} dbTimeMs={} entitiesLoaded={} collectionsFetched={}",
+                    endpoint, request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    stats.getStatements(), queryBudget, TimeUnit.NANOSECONDS.toMillis(stats.getStatementNanos()),
+                    stats.getEntitiesLoaded(), stats.getCollectionsFetched());
+        }
+    }
+}
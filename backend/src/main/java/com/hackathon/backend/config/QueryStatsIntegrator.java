@@ -0,0 +1,34 @@
+package com.hackathon.backend.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+// Counts entities materialized and lazy collections initialized for the current request
+public class QueryStatsIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, event -> {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.entityLoaded();
+            }
+        });
+        listeners.appendListeners(EventType.INIT_COLLECTION, event -> {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.collectionFetched();
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
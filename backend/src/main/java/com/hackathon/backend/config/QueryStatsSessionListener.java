@@ -0,0 +1,37 @@
+package com.hackathon.backend.config;
+
+import org.hibernate.SessionEventListener;
+
+// Created by Hibernate for every session (hibernate.session.events.auto). Times each JDBC
+// execution and charges it to the request running on the current thread.
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementExecuted(System.nanoTime() - executeStart);
+        }
+    }
+}
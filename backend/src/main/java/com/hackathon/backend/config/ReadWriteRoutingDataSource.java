@@ -0,0 +1,181 @@
+package com.hackathon.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends connections of read-only transactions to the replicas, round-robin over the healthy
+// ones, and everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy:
+// the transaction's read-only flag is only known once the first statement asks for a connection.
+// A user who just committed a write reads from the primary for a short window, so they never
+// see their own change missing because a replica lags behind.
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final Target primary;
+    private final List<Target> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+    private final Supplier<String> currentUser;
+    private final int validationTimeoutSeconds;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      Duration readYourWritesWindow, Supplier<String> currentUser,
+                                      Duration validationTimeout, MeterRegistry meterRegistry) {
+        this.primary = new Target(primary, meterRegistry);
+        this.replicas = new ArrayList<>(replicas.size());
+        for (HikariDataSource replica : replicas) {
+            Target target = new Target(replica, meterRegistry);
+            // datasource.replica.healthy{target=...} is 0 while a replica is ejected
+            Gauge.builder("datasource.replica.healthy", target, t -> t.healthy ? 1 : 0)
+                    .tag("target", target.name)
+                    .register(meterRegistry);
+            this.replicas.add(target);
+        }
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.currentUser = currentUser;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Routed the same way; whether per-call credentials are accepted is up to the chosen pool
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    // Validates every replica, ejecting unreachable ones and bringing recovered ones back
+    public void checkReplicas() {
+        for (Target replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (!replica.healthy) {
+                    log.info("Replica {} is reachable again", replica.name);
+                    replica.healthy = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        primary.dataSource.close();
+        for (Target replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        String user = currentUser.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriter(user);
+            return primary.connect(connector);
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return primary.connect(connector);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Target replica = nextHealthyReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.connect(connector);
+            } catch (SQLFeatureNotSupportedException e) {
+                // The request is unsupported, the replica itself is fine
+                throw e;
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return primary.connect(connector);
+    }
+
+    // The window starts when the write commits, not when it began
+    private void rememberWriter(String user) {
+        if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    private Target nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Target replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void eject(Target replica, Exception cause) {
+        if (replica.healthy) {
+            log.warn("Ejecting replica {}: {}", replica.name, cause.getMessage());
+            replica.healthy = false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Target {
+        private final HikariDataSource dataSource;
+        private final String name;
+        private final Counter routed;
+        private volatile boolean healthy = true;
+
+        private Target(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName();
+            // datasource.routing{target=...} counts connections handed out per target
+            this.routed = meterRegistry.counter("datasource.routing", "target", name);
+        }
+
+        private Connection connect(Connector connector) throws SQLException {
+            Connection connection = connector.connect(dataSource);
+            routed.increment();
+            return connection;
+        }
+    }
+}
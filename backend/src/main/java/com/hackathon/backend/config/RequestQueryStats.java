@@ -0,0 +1,53 @@
+package com.hackathon.backend.config;
+
+// Database work done on behalf of the current HTTP request. Hibernate listeners add to the
+// instance bound to the request thread; outside a request nothing is bound and nothing is counted.
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long statementNanos;
+    private int entitiesLoaded;
+    private int collectionsFetched;
+
+    private RequestQueryStats() {
+    }
+
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static RequestQueryStats stop() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        statementNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionFetched() {
+        collectionsFetched++;
+    }
+
+    public int getStatements() { return statements; }
+
+    public long getStatementNanos() { return statementNanos; }
+
+    public int getEntitiesLoaded() { return entitiesLoaded; }
+
+    public int getCollectionsFetched() { return collectionsFetched; }
+}
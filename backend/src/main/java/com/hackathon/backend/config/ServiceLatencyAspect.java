@@ -0,0 +1,30 @@
+package com.hackathon.backend.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Breaks request latency down into the services doing the work. Only calls coming through
+// the Spring proxy are timed; a service calling its own methods is counted once.
+@Aspect
+@Component
+public class ServiceLatencyAspect {
+
+    @Autowired
+    private LatencyHistograms latencyHistograms;
+
+    @Around("execution(public * com.hackathon.backend.service.ProfileService.*(..))"
+            + " || execution(public * com.hackathon.backend.service.ConnectionService.*(..))"
+            + " || execution(public * com.hackathon.backend.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            latencyHistograms.record("service " + joinPoint.getSignature().getDeclaringType().getSimpleName()
+                    + "." + joinPoint.getSignature().getName(), System.nanoTime() - start);
+        }
+    }
+}
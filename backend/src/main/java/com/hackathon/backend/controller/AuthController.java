@@ -4,12 +4,15 @@ import com.hackathon.backend.dto.ApiResponse;
 import com.hackathon.backend.dto.LoginRequest;
 import com.hackathon.backend.dto.LoginResponse;
 import com.hackathon.backend.dto.RegisterRequest;
+import com.hackathon.backend.security.LoginExecutor;
 import com.hackathon.backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,19 +22,38 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    // Registration hashes the password with BCrypt too, so it shares the login executor
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse> register(@Valid @RequestBody RegisterRequest request) {
-        ApiResponse response = authService.register(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        try {
+            return loginExecutor.submit(() -> authService.register(request))
+                    .thenApply(ResponseEntity::ok);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(429)
+                    .header("Retry-After", "1")
+                    .body(new ApiResponse(false, "Too many registrations, please try again shortly")));
+        }
     }
 
+    // The BCrypt check runs on the bounded login executor; the servlet thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.badRequest().body(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+        try {
+            return loginExecutor.submit(() -> authService.login(request))
+                    .thenApply(response -> {
+                        if (response.isSuccess()) {
+                            return ResponseEntity.ok(response);
+                        } else {
+                            return ResponseEntity.badRequest().body(response);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(429)
+                    .header("Retry-After", "1")
+                    .body(new LoginResponse(false, "Too many login attempts, please try again shortly", null, null)));
         }
     }
 
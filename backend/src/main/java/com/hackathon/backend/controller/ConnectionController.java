@@ -1,8 +1,12 @@
 package com.hackathon.backend.controller;
 
 import com.hackathon.backend.dto.ApiResponse;
+import com.hackathon.backend.dto.BulkConnectionActionRequest;
+import com.hackathon.backend.dto.BulkConnectionActionResponse;
 import com.hackathon.backend.dto.ConnectionRequestDTO;
+import com.hackathon.backend.dto.ConnectionRequestPageResponse;
 import com.hackathon.backend.dto.ConnectionRequestResponseDTO;
+import com.hackathon.backend.entity.ConnectionRequest;
 import com.hackathon.backend.service.ConnectionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +21,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class ConnectionController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ConnectionService connectionService;
 
@@ -75,6 +81,89 @@ public class ConnectionController {
         }
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<ConnectionRequestPageResponse> getInbox(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status,
+            Authentication authentication) {
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        ConnectionRequest.RequestStatus statusEnum = parseStatus(status);
+        if (statusEnum == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            String email = authentication.getName();
+            return ResponseEntity.ok(connectionService.getInbox(email, statusEnum, cursor, pageSize(size)));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<ConnectionRequestPageResponse> getOutbox(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status,
+            Authentication authentication) {
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        ConnectionRequest.RequestStatus statusEnum = parseStatus(status);
+        if (statusEnum == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            String email = authentication.getName();
+            return ResponseEntity.ok(connectionService.getOutbox(email, statusEnum, cursor, pageSize(size)));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // Pending by default; ACCEPTED, DECLINED and CANCELLED give the history. Null means invalid.
+    private ConnectionRequest.RequestStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return ConnectionRequest.RequestStatus.PENDING;
+        }
+        try {
+            return ConnectionRequest.RequestStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkConnectionActionResponse> bulkRespond(
+            @Valid @RequestBody BulkConnectionActionRequest request,
+            Authentication authentication) {
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            String email = authentication.getName();
+            BulkConnectionActionResponse response = connectionService.bulkRespond(email, request);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("Error in bulkRespond: " + e.getMessage());
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @PutMapping("/{requestId}/accept")
     public ResponseEntity<ApiResponse> acceptConnectionRequest(
             @PathVariable Long requestId,
@@ -2,48 +2,113 @@ package com.hackathon.backend.controller;
 
 import com.hackathon.backend.dto.*;
 import com.hackathon.backend.entity.Availability;
+import com.hackathon.backend.security.UserPrincipal;
+import com.hackathon.backend.service.PhotoStorage;
+import com.hackathon.backend.service.PhotoVariants;
 import com.hackathon.backend.service.ProfileService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:3000")
 public class ProfileController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     @Autowired
     private ProfileService profileService;
 
+    @Value("${app.uploads.max-photo-size:5MB}")
+    private DataSize maxPhotoSize;
+
     @GetMapping("/profiles")
     public ResponseEntity<ProfileSearchResponse> getProfiles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "6") int size,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String availability) {
+            @RequestParam(required = false) String availability,
+            @RequestParam(required = false) Integer photoSize) {
+
+        Availability availabilityEnum = parseAvailability(availability);
+
+        ProfileSearchResponse response = profileService.searchProfiles(search, availabilityEnum, page, size);
+        response.setProfiles(withPhotoSize(response.getProfiles(), photoSize));
+        return ResponseEntity.ok(response);
+    }
+
+    // Keyset pagination for infinite scroll; pass back nextCursor to get the following page
+    @GetMapping("/profiles/scroll")
+    public ResponseEntity<ProfileCursorResponse> scrollProfiles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String availability,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) Integer photoSize) {
+
+        ProfileCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                after = ProfileCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
 
-        Availability availabilityEnum = null;
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        ProfileCursorResponse response = profileService.scrollProfiles(
+                search, parseAvailability(availability), after, pageSize, includeTotal);
+        response.setProfiles(withPhotoSize(response.getProfiles(), photoSize));
+        return ResponseEntity.ok(response);
+    }
+
+    private Availability parseAvailability(String availability) {
         if (availability != null && !availability.isEmpty()) {
             try {
-                availabilityEnum = Availability.valueOf(availability.toUpperCase());
+                return Availability.valueOf(availability.toUpperCase());
             } catch (IllegalArgumentException e) {
                 // Invalid availability value, continue with null
             }
         }
+        return null;
+    }
 
-        ProfileSearchResponse response = profileService.searchProfiles(search, availabilityEnum, page, size);
-        return ResponseEntity.ok(response);
+    // photoSize picks the smallest resized photo that covers it, or the original until one exists.
+    // Profiles may be shared with the cache, so the choice is made on a copy.
+    private static UserProfileDTO withPhotoSize(UserProfileDTO profile, Integer photoSize) {
+        if (profile == null || photoSize == null) {
+            return profile;
+        }
+        UserProfileDTO sized = new UserProfileDTO(profile);
+        sized.setProfilePhoto(PhotoVariants.select(
+                profile.getProfilePhoto(), profile.getProfilePhotoVariants(), photoSize));
+        return sized;
+    }
+
+    private static List<UserProfileDTO> withPhotoSize(List<UserProfileDTO> profiles, Integer photoSize) {
+        if (profiles == null || photoSize == null) {
+            return profiles;
+        }
+        return profiles.stream().map(profile -> withPhotoSize(profile, photoSize)).toList();
     }
 
     @GetMapping("/profiles/{id}")
-    public ResponseEntity<UserProfileDTO> getProfile(@PathVariable Long id) {
+    public ResponseEntity<UserProfileDTO> getProfile(@PathVariable Long id,
+                                                     @RequestParam(required = false) Integer photoSize) {
         UserProfileDTO profile = profileService.getPublicProfile(id);
         if (profile != null) {
-            return ResponseEntity.ok(profile);
+            return ResponseEntity.ok(withPhotoSize(profile, photoSize));
         }
         return ResponseEntity.notFound().build();
     }
@@ -55,16 +120,20 @@ public class ProfileController {
     }
 
     @GetMapping("/profile/me")
-    public ResponseEntity<UserProfileDTO> getCurrentUserProfile(Authentication authentication) {
+    public ResponseEntity<UserProfileDTO> getCurrentUserProfile(
+            @RequestParam(required = false) Integer photoSize,
+            Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).build();
         }
 
         try {
-            String email = authentication.getName();
-            UserProfileDTO profile = profileService.getCurrentUserProfile(email);
+            // The principal already carries the id, which lets the profile come straight from the cache
+            UserProfileDTO profile = authentication.getPrincipal() instanceof UserPrincipal principal
+                    ? profileService.getCurrentUserProfile(principal.getId())
+                    : profileService.getCurrentUserProfile(authentication.getName());
             if (profile != null) {
-                return ResponseEntity.ok(profile);
+                return ResponseEntity.ok(withPhotoSize(profile, photoSize));
             }
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -139,9 +208,52 @@ public class ProfileController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PhotoStorage.RejectedPhotoException e) {
+            return rejectedPhoto(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to upload photo: " + e.getMessage()));
+        }
+    }
+
+    // Raw image body instead of multipart: streamed straight into storage without buffering.
+    // A declared Content-Length over the cap is refused before any byte is read; a chunked or
+    // unlabelled body is cut off once it passes the cap and gets the same 413.
+    @PutMapping("/profile/me/photo")
+    public ResponseEntity<ApiResponse> streamProfilePhoto(
+            HttpServletRequest request,
+            Authentication authentication) {
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse(false, "Authentication required"));
+        }
+
+        if (request.getContentLengthLong() > maxPhotoSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new ApiResponse(false, PhotoStorage.sizeLimitMessage(maxPhotoSize.toBytes())));
+        }
+
+        try {
+            String email = authentication.getName();
+            ApiResponse response = profileService.updateProfilePhoto(email, request.getInputStream());
+
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.badRequest().body(response);
+            }
+        } catch (PhotoStorage.RejectedPhotoException e) {
+            return rejectedPhoto(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Failed to upload photo: " + e.getMessage()));
         }
     }
+
+    // Size violations are 413, anything else about the image (empty, not a supported format) is 400
+    private static ResponseEntity<ApiResponse> rejectedPhoto(PhotoStorage.RejectedPhotoException e) {
+        HttpStatus status = e.isTooLarge() ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(new ApiResponse(false, e.getMessage()));
+    }
 }
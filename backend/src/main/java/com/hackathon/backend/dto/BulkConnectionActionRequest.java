@@ -0,0 +1,34 @@
+package com.hackathon.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BulkConnectionActionRequest {
+    @NotEmpty(message = "At least one request ID is required")
+    @Size(max = 100, message = "At most 100 requests can be processed at once")
+    private List<Long> requestIds;
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    // Constructors
+    public BulkConnectionActionRequest() {}
+
+    public BulkConnectionActionRequest(List<Long> requestIds, Action action) {
+        this.requestIds = requestIds;
+        this.action = action;
+    }
+
+    // Getters and Setters
+    public List<Long> getRequestIds() { return requestIds; }
+    public void setRequestIds(List<Long> requestIds) { this.requestIds = requestIds; }
+
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+
+    public enum Action {
+        ACCEPT, DECLINE
+    }
+}
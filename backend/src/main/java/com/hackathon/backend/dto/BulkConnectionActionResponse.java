@@ -0,0 +1,51 @@
+package com.hackathon.backend.dto;
+
+import java.util.List;
+
+public class BulkConnectionActionResponse {
+    private int processed;
+    private int failed;
+    private List<Result> results;
+
+    // Constructors
+    public BulkConnectionActionResponse() {}
+
+    public BulkConnectionActionResponse(List<Result> results) {
+        this.results = results;
+        this.processed = (int) results.stream().filter(Result::isSuccess).count();
+        this.failed = results.size() - processed;
+    }
+
+    // Getters and Setters
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<Result> getResults() { return results; }
+    public void setResults(List<Result> results) { this.results = results; }
+
+    public static class Result {
+        private Long requestId;
+        private boolean success;
+        private String message;
+
+        public Result() {}
+
+        public Result(Long requestId, boolean success, String message) {
+            this.requestId = requestId;
+            this.success = success;
+            this.message = message;
+        }
+
+        public Long getRequestId() { return requestId; }
+        public void setRequestId(Long requestId) { this.requestId = requestId; }
+
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
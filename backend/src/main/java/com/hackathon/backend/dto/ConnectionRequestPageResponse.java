@@ -0,0 +1,33 @@
+package com.hackathon.backend.dto;
+
+import java.util.List;
+
+public class ConnectionRequestPageResponse {
+    private List<ConnectionRequestResponseDTO> requests;
+    private Long nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    // Constructors
+    public ConnectionRequestPageResponse() {}
+
+    public ConnectionRequestPageResponse(List<ConnectionRequestResponseDTO> requests, Long nextCursor, int size) {
+        this.requests = requests;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<ConnectionRequestResponseDTO> getRequests() { return requests; }
+    public void setRequests(List<ConnectionRequestResponseDTO> requests) { this.requests = requests; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
@@ -0,0 +1,49 @@
+package com.hackathon.backend.dto;
+
+import com.hackathon.backend.entity.Availability;
+import com.hackathon.backend.entity.ConnectionRequest;
+
+import java.time.LocalDateTime;
+
+// Flat JPQL projection of a connection request joined with its sender and receiver
+public class ConnectionRequestSummary {
+    private final ConnectionRequestResponseDTO response = new ConnectionRequestResponseDTO();
+
+    public ConnectionRequestSummary(Long id, String message, ConnectionRequest.RequestStatus status,
+                                    LocalDateTime createdAt, LocalDateTime respondedAt,
+                                    Long senderId, String senderFirstName, String senderLastName,
+                                    String senderProfilePhoto, String senderLocation, Double senderAverageRating,
+                                    Integer senderCompletedSwaps, Availability senderAvailability,
+                                    Long receiverId, String receiverFirstName, String receiverLastName,
+                                    String receiverProfilePhoto, String receiverLocation, Double receiverAverageRating,
+                                    Integer receiverCompletedSwaps, Availability receiverAvailability) {
+        response.setId(id);
+        response.setMessage(message);
+        response.setStatus(status);
+        response.setCreatedAt(createdAt);
+        response.setRespondedAt(respondedAt);
+        response.setSender(basicProfile(senderId, senderFirstName, senderLastName, senderProfilePhoto,
+                senderLocation, senderAverageRating, senderCompletedSwaps, senderAvailability));
+        response.setReceiver(basicProfile(receiverId, receiverFirstName, receiverLastName, receiverProfilePhoto,
+                receiverLocation, receiverAverageRating, receiverCompletedSwaps, receiverAvailability));
+    }
+
+    public Long getId() { return response.getId(); }
+
+    public ConnectionRequestResponseDTO toResponseDTO() { return response; }
+
+    private static UserProfileDTO basicProfile(Long id, String firstName, String lastName, String profilePhoto,
+                                               String location, Double averageRating, Integer completedSwaps,
+                                               Availability availability) {
+        UserProfileDTO dto = new UserProfileDTO();
+        dto.setId(id);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setProfilePhoto(profilePhoto);
+        dto.setLocation(location);
+        dto.setAverageRating(averageRating);
+        dto.setCompletedSwaps(completedSwaps);
+        dto.setAvailability(availability);
+        return dto;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hackathon.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position in the (averageRating DESC, id ASC) profile ordering
+public class ProfileCursor {
+    private final double averageRating;
+    private final long id;
+
+    public ProfileCursor(double averageRating, long id) {
+        this.averageRating = averageRating;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = averageRating + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProfileCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProfileCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Getters
+    public double getAverageRating() { return averageRating; }
+
+    public long getId() { return id; }
+}
@@ -0,0 +1,39 @@
+package com.hackathon.backend.dto;
+
+import java.util.List;
+
+public class ProfileCursorResponse {
+    private List<UserProfileDTO> profiles;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+    private Long totalElements;
+
+    // Constructors
+    public ProfileCursorResponse() {}
+
+    public ProfileCursorResponse(List<UserProfileDTO> profiles, String nextCursor, int size, Long totalElements) {
+        this.profiles = profiles;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    // Getters and Setters
+    public List<UserProfileDTO> getProfiles() { return profiles; }
+    public void setProfiles(List<UserProfileDTO> profiles) { this.profiles = profiles; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    // Only populated when the caller asks for it, since counting costs a full query
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
@@ -18,6 +18,7 @@ public class UpdateProfileRequest {
 
     private Boolean isProfilePublic;
     private Availability availability;
+    private Boolean receiveNotifications;
 
     // Constructors
     public UpdateProfileRequest() {}
@@ -40,4 +41,7 @@ public class UpdateProfileRequest {
 
     public Availability getAvailability() { return availability; }
     public void setAvailability(Availability availability) { this.availability = availability; }
+
+    public Boolean getReceiveNotifications() { return receiveNotifications; }
+    public void setReceiveNotifications(Boolean receiveNotifications) { this.receiveNotifications = receiveNotifications; }
 }
@@ -2,12 +2,14 @@ package com.hackathon.backend.dto;
 
 import com.hackathon.backend.entity.Availability;
 import java.util.List;
+import java.util.Map;
 
 public class UserProfileDTO {
     private Long id;
     private String firstName;
     private String lastName;
     private String profilePhoto;
+    private Map<Integer, String> profilePhotoVariants;
     private String location;
     private String bio;
     private Double averageRating;
@@ -20,6 +22,22 @@ public class UserProfileDTO {
     // Constructors
     public UserProfileDTO() {}
 
+    public UserProfileDTO(UserProfileDTO other) {
+        this.id = other.id;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.profilePhoto = other.profilePhoto;
+        this.profilePhotoVariants = other.profilePhotoVariants;
+        this.location = other.location;
+        this.bio = other.bio;
+        this.averageRating = other.averageRating;
+        this.totalReviews = other.totalReviews;
+        this.completedSwaps = other.completedSwaps;
+        this.availability = other.availability;
+        this.skillsOffered = other.skillsOffered;
+        this.skillsWanted = other.skillsWanted;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -33,6 +51,9 @@ public class UserProfileDTO {
     public String getProfilePhoto() { return profilePhoto; }
     public void setProfilePhoto(String profilePhoto) { this.profilePhoto = profilePhoto; }
 
+    public Map<Integer, String> getProfilePhotoVariants() { return profilePhotoVariants; }
+    public void setProfilePhotoVariants(Map<Integer, String> profilePhotoVariants) { this.profilePhotoVariants = profilePhotoVariants; }
+
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
@@ -32,6 +32,11 @@ public class ConnectionRequest {
 
     private LocalDateTime respondedAt;
 
+    // "senderId:receiverId" while the request is pending or accepted, null once it is closed.
+    // The unique constraint is what stops a second open request for the same pair.
+    @Column(name = "open_pair", unique = true, length = 41)
+    private String openPair;
+
     // Constructors
     public ConnectionRequest() {}
 
@@ -39,6 +44,11 @@ public class ConnectionRequest {
         this.sender = sender;
         this.receiver = receiver;
         this.message = message;
+        this.openPair = pairKey(sender.getId(), receiver.getId());
+    }
+
+    public static String pairKey(Long senderId, Long receiverId) {
+        return senderId + ":" + receiverId;
     }
 
     // Getters and Setters
@@ -63,6 +73,9 @@ public class ConnectionRequest {
     public LocalDateTime getRespondedAt() { return respondedAt; }
     public void setRespondedAt(LocalDateTime respondedAt) { this.respondedAt = respondedAt; }
 
+    public String getOpenPair() { return openPair; }
+    public void setOpenPair(String openPair) { this.openPair = openPair; }
+
     public enum RequestStatus {
         PENDING, ACCEPTED, DECLINED, CANCELLED
     }
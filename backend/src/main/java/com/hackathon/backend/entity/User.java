@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -55,6 +57,10 @@ public class User {
     @Column(length = 500)
     private String profilePhoto;
 
+    // Resized copies of profilePhoto, see PhotoVariants; null until they have been generated
+    @Column(length = 1000)
+    private String profilePhotoVariants;
+
     @Column(nullable = false)
     private Double averageRating = 0.0;
 
@@ -77,8 +83,9 @@ public class User {
     @Column(name = "receive_notifications", nullable = false)
     private Boolean receiveNotifications = true; // Default value
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     private Set<Role> roles = new HashSet<>();
 
     // Constructors
@@ -134,6 +141,9 @@ public class User {
     public String getProfilePhoto() { return profilePhoto; }
     public void setProfilePhoto(String profilePhoto) { this.profilePhoto = profilePhoto; }
 
+    public String getProfilePhotoVariants() { return profilePhotoVariants; }
+    public void setProfilePhotoVariants(String profilePhotoVariants) { this.profilePhotoVariants = profilePhotoVariants; }
+
     public Double getAverageRating() { return averageRating; }
     public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
 
@@ -5,8 +5,10 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "user_skills")
 public class UserSkill {
+    // Sequence ids (allocated 50 at a time) let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_skills_seq")
+    @SequenceGenerator(name = "user_skills_seq", sequenceName = "user_skills_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
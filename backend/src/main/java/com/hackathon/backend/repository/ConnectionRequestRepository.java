@@ -1,11 +1,19 @@
 package com.hackathon.backend.repository;
 
+import com.hackathon.backend.dto.ConnectionRequestSummary;
 import com.hackathon.backend.entity.ConnectionRequest;
 import com.hackathon.backend.entity.User;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +26,89 @@ public interface ConnectionRequestRepository extends JpaRepository<ConnectionReq
 
     List<ConnectionRequest> findBySenderAndStatus(User sender, ConnectionRequest.RequestStatus status);
 
+    // Inbox/outbox pages, newest first, keyed on id; sender and receiver come from the same join
+    @Query("""
+        SELECT new com.hackathon.backend.dto.ConnectionRequestSummary(
+               cr.id, cr.message, cr.status, cr.createdAt, cr.respondedAt,
+               s.id, s.firstName, s.lastName, s.profilePhoto, s.location, s.averageRating, s.completedSwaps, s.availability,
+               r.id, r.firstName, r.lastName, r.profilePhoto, r.location, r.averageRating, r.completedSwaps, r.availability)
+        FROM ConnectionRequest cr JOIN cr.sender s JOIN cr.receiver r
+        WHERE r.id = :userId AND cr.status = :status AND (:beforeId IS NULL OR cr.id < :beforeId)
+        ORDER BY cr.id DESC
+        """)
+    List<ConnectionRequestSummary> findReceivedSummaries(@Param("userId") Long userId,
+                                                         @Param("status") ConnectionRequest.RequestStatus status,
+                                                         @Param("beforeId") Long beforeId,
+                                                         Pageable pageable);
+
+    @Query("""
+        SELECT new com.hackathon.backend.dto.ConnectionRequestSummary(
+               cr.id, cr.message, cr.status, cr.createdAt, cr.respondedAt,
+               s.id, s.firstName, s.lastName, s.profilePhoto, s.location, s.averageRating, s.completedSwaps, s.availability,
+               r.id, r.firstName, r.lastName, r.profilePhoto, r.location, r.averageRating, r.completedSwaps, r.availability)
+        FROM ConnectionRequest cr JOIN cr.sender s JOIN cr.receiver r
+        WHERE s.id = :userId AND cr.status = :status AND (:beforeId IS NULL OR cr.id < :beforeId)
+        ORDER BY cr.id DESC
+        """)
+    List<ConnectionRequestSummary> findSentSummaries(@Param("userId") Long userId,
+                                                     @Param("status") ConnectionRequest.RequestStatus status,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+
+    // Conditional transitions: only the receiver can move a request, and only while it is pending.
+    // Fewer updated rows than ids means some were missing, belong to someone else or were already handled.
+    @Modifying
+    @Query("""
+        UPDATE ConnectionRequest cr SET cr.status = 'ACCEPTED', cr.respondedAt = :respondedAt
+        WHERE cr.id IN :ids AND cr.receiver.id = :receiverId AND cr.status = 'PENDING'
+        """)
+    int acceptPending(@Param("ids") Collection<Long> ids,
+                      @Param("receiverId") Long receiverId,
+                      @Param("respondedAt") LocalDateTime respondedAt);
+
+    @Modifying
+    @Query("""
+        UPDATE ConnectionRequest cr SET cr.status = 'DECLINED', cr.respondedAt = :respondedAt, cr.openPair = NULL
+        WHERE cr.id IN :ids AND cr.receiver.id = :receiverId AND cr.status = 'PENDING'
+        """)
+    int declinePending(@Param("ids") Collection<Long> ids,
+                       @Param("receiverId") Long receiverId,
+                       @Param("respondedAt") LocalDateTime respondedAt);
+
+    // Locks the rows of a bulk action so the transition that follows applies to exactly what was checked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cr FROM ConnectionRequest cr WHERE cr.id IN :ids")
+    List<ConnectionRequest> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Only read after a failed transition, to tell the caller why
+    @Query("SELECT cr.receiver.id FROM ConnectionRequest cr WHERE cr.id = :id")
+    Optional<Long> findReceiverIdById(@Param("id") Long id);
+
+    // Housekeeping: next chunk of pending requests created before the cutoff, after the given id
+    @Query("SELECT cr.id FROM ConnectionRequest cr WHERE cr.status = 'PENDING' AND cr.createdAt < :cutoff AND cr.id > :afterId ORDER BY cr.id")
+    List<Long> findStalePendingIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+        UPDATE ConnectionRequest cr SET cr.status = 'CANCELLED', cr.respondedAt = :now, cr.openPair = NULL
+        WHERE cr.id IN :ids AND cr.status = 'PENDING' AND cr.createdAt < :cutoff
+        """)
+    int cancelStalePending(@Param("ids") Collection<Long> ids,
+                           @Param("cutoff") LocalDateTime cutoff,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ConnectionRequest cr
+        WHERE cr.sender.id IN (SELECT u.id FROM User u WHERE u.id IN :ids AND u.emailVerified = false)
+           OR cr.receiver.id IN (SELECT u.id FROM User u WHERE u.id IN :ids AND u.emailVerified = false)
+        """)
+    int deleteInvolvingUnverifiedUsers(@Param("ids") Collection<Long> ids);
+
+    // Rows of (request id, sender id, receiver id)
+    @Query("SELECT cr.id, cr.sender.id, cr.receiver.id FROM ConnectionRequest cr WHERE cr.id IN :ids")
+    List<Object[]> findParticipantsByIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(cr) FROM ConnectionRequest cr WHERE cr.status = 'ACCEPTED'")
     Long countSuccessfulConnections();
-
-    boolean existsBySenderAndReceiverAndStatusIn(User sender, User receiver, List<ConnectionRequest.RequestStatus> statuses);
 }
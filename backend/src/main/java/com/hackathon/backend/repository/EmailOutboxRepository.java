@@ -0,0 +1,70 @@
+package com.hackathon.backend.repository;
+
+import com.hackathon.backend.entity.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Oldest due messages first. A SENDING row whose lease has run out was claimed by an
+    // instance that never finished it, so it is due again.
+    @Query("""
+        SELECT m.id FROM EmailOutboxMessage m
+        WHERE m.status IN ('PENDING', 'SENDING') AND m.nextAttemptAt <= :now ORDER BY m.id
+        """)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional claim of a whole batch: rows another dispatcher got first are left alone,
+    // and the ones won carry the token for findClaimed
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE EmailOutboxMessage m
+        SET m.status = 'SENDING', m.nextAttemptAt = :leaseUntil, m.claimToken = :token
+        WHERE m.id IN :ids AND m.status IN ('PENDING', 'SENDING') AND m.nextAttemptAt <= :now
+        """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("token") String token);
+
+    @Query("""
+        SELECT m FROM EmailOutboxMessage m
+        WHERE m.id IN :ids AND m.status = 'SENDING' AND m.claimToken = :token ORDER BY m.id
+        """)
+    List<EmailOutboxMessage> findClaimed(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    // Outcomes only apply while the claim is still ours; after the lease ran out the row
+    // belongs to whichever dispatcher claimed it next
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE EmailOutboxMessage m
+        SET m.status = 'SENT', m.sentAt = :sentAt, m.lastError = NULL, m.claimToken = NULL
+        WHERE m.id IN :ids AND m.status = 'SENDING' AND m.claimToken = :token
+        """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("token") String token,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE EmailOutboxMessage m
+        SET m.status = :status, m.attempts = :attempts, m.lastError = :lastError,
+            m.nextAttemptAt = :nextAttemptAt, m.claimToken = NULL
+        WHERE m.id = :id AND m.status = 'SENDING' AND m.claimToken = :token
+        """)
+    int markFailed(@Param("id") Long id, @Param("token") String token,
+                   @Param("status") EmailOutboxMessage.Status status, @Param("attempts") int attempts,
+                   @Param("lastError") String lastError, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    long countByStatus(EmailOutboxMessage.Status status);
+}
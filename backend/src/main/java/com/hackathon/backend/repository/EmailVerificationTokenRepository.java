@@ -2,9 +2,16 @@ package com.hackathon.backend.repository;
 
 import com.hackathon.backend.entity.EmailVerificationToken;
 import com.hackathon.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,16 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     Optional<EmailVerificationToken> findByToken(String token);
     Optional<EmailVerificationToken> findByUser(User user);
     void deleteByUser(User user);
+
+    // Housekeeping: next chunk of expired token ids after the given id
+    @Query("SELECT t.id FROM EmailVerificationToken t WHERE t.expiryDate < :now AND t.id > :afterId ORDER BY t.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT t.user.id FROM EmailVerificationToken t WHERE t.id IN :ids AND t.user.emailVerified = false")
+    List<Long> findUnverifiedUserIds(@Param("ids") Collection<Long> ids);
+
+    // Re-checks expiry so a concurrent run or a fresh token is never affected
+    @Modifying
+    @Query("DELETE FROM EmailVerificationToken t WHERE t.id IN :ids AND t.expiryDate < :now")
+    int deleteExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
@@ -1,16 +1,32 @@
 package com.hackathon.backend.repository;
 
 import com.hackathon.backend.entity.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    // Query cache region for skill lookups; SkillDictionary evicts it when it creates a skill
+    String QUERY_CACHE_REGION = "skill-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Skill> findByNameIgnoreCase(String name);
 
     @Query("SELECT COUNT(DISTINCT us.skill) FROM UserSkill us WHERE us.type = 'OFFERED'")
     Long countOfferedSkills();
+
+    // (skillId, number of users offering it) rows used to seed the in-memory stats
+    @Query("SELECT us.skill.id, COUNT(DISTINCT us.user.id) FROM UserSkill us WHERE us.type = 'OFFERED' GROUP BY us.skill.id")
+    List<Object[]> countOfferingUsersBySkill();
 }
@@ -4,19 +4,64 @@ import com.hackathon.backend.entity.User;
 import com.hackathon.backend.entity.Availability;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
     Optional<User> findByEmailAndActiveTrue(String email);
 
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    boolean existsByIdAndActiveTrue(Long id);
+
+    @Query("SELECT u.id, u.profilePhoto FROM User u WHERE u.profilePhoto IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findPhotoReferences(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.profilePhotoVariants = :variants WHERE u.id = :id AND u.profilePhoto = :photo")
+    int updatePhotoVariants(@Param("id") Long id, @Param("photo") String photo, @Param("variants") String variants);
+
+    // Photo uploads load the user before a possibly long upload; only these two columns are written
+    // so edits committed meanwhile are kept
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.profilePhoto = :photo, u.profilePhotoVariants = NULL WHERE u.id = :id AND u.active = true")
+    int updateProfilePhoto(@Param("id") Long id, @Param("photo") String photo);
+
+    // Housekeeping deletes of never-verified accounts; each statement re-checks the flag
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN "
+            + "(SELECT id FROM users WHERE id IN (:ids) AND email_verified = false)", nativeQuery = true)
+    int deleteRolesOfUnverified(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids AND u.emailVerified = false")
+    int deleteUnverified(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email AND u.active = true")
+    Optional<Long> findActiveIdByEmail(@Param("email") String email);
+
+    // Used by authentication, which needs the roles that list endpoints skip
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmailAndActiveTrue(String email);
+
     // Count active users for stats
     @Query("SELECT COUNT(u) FROM User u WHERE u.active = true AND u.emailVerified = true")
     Long countActiveUsers();
@@ -25,6 +70,38 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.isProfilePublic = true AND u.active = true AND u.emailVerified = true ORDER BY u.averageRating DESC")
     Page<User> findPublicProfiles(Pageable pageable);
 
+    // Keyset pages ordered by (averageRating DESC, id ASC); List results skip the count query
+    @Query("""
+        SELECT u FROM User u
+        WHERE u.isProfilePublic = true AND u.active = true AND u.emailVerified = true
+        AND (:availability IS NULL OR u.availability = :availability)
+        ORDER BY u.averageRating DESC, u.id ASC
+        """)
+    List<User> findPublicProfilesFirst(@Param("availability") Availability availability, Pageable pageable);
+
+    @Query("""
+        SELECT u FROM User u
+        WHERE u.isProfilePublic = true AND u.active = true AND u.emailVerified = true
+        AND (:availability IS NULL OR u.availability = :availability)
+        AND (u.averageRating < :rating OR (u.averageRating = :rating AND u.id > :id))
+        ORDER BY u.averageRating DESC, u.id ASC
+        """)
+    List<User> findPublicProfilesAfter(@Param("availability") Availability availability,
+                                       @Param("rating") Double rating,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.isProfilePublic = true AND u.active = true AND u.emailVerified = true AND (:availability IS NULL OR u.availability = :availability)")
+    long countPublicProfiles(@Param("availability") Availability availability);
+
+    // Rows of (id, email, firstName, lastName, receiveNotifications, active) for digest emails
+    @Query("SELECT u.id, u.email, u.firstName, u.lastName, u.receiveNotifications, u.active FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNotificationContacts(@Param("ids") Collection<Long> ids);
+
+    // Lightweight rows used to build the in-memory search index
+    @Query("SELECT u.id, u.firstName, u.lastName, u.averageRating, u.availability, u.isProfilePublic, u.active, u.emailVerified FROM User u")
+    List<Object[]> findAllForSearchIndex();
+
     // Search profiles by skills or name with filters
     @Query("""
         SELECT DISTINCT u FROM User u 
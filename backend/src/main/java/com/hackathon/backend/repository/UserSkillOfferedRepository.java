@@ -4,9 +4,12 @@ import com.hackathon.backend.entity.UserSkillOffered;
 import com.hackathon.backend.entity.User;
 import com.hackathon.backend.entity.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +22,8 @@ public interface UserSkillOfferedRepository extends JpaRepository<UserSkillOffer
 
     @Query("SELECT uso FROM UserSkillOffered uso WHERE uso.user.isProfilePublic = true AND uso.user.active = true")
     List<UserSkillOffered> findAllPublicSkills();
+
+    @Modifying
+    @Query("DELETE FROM UserSkillOffered uso WHERE uso.user.id IN (SELECT u.id FROM User u WHERE u.id IN :ids AND u.emailVerified = false)")
+    int deleteOfUnverifiedUsers(@Param("ids") Collection<Long> ids);
 }
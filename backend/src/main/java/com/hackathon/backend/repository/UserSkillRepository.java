@@ -3,10 +3,12 @@ package com.hackathon.backend.repository;
 import com.hackathon.backend.entity.UserSkill;
 import com.hackathon.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,5 +17,18 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, Long> {
     @Query("SELECT us FROM UserSkill us JOIN FETCH us.skill WHERE us.user = :user AND us.type = :type")
     List<UserSkill> findByUserAndType(@Param("user") User user, @Param("type") UserSkill.SkillType type);
 
+    List<UserSkill> findByUser(User user);
+
+    // (userId, type, skillId) rows for a whole page of users; names come from the skill dictionary
+    @Query("SELECT us.user.id, us.type, us.skill.id FROM UserSkill us WHERE us.user.id IN :userIds ORDER BY us.id")
+    List<Object[]> findSkillIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT us.user.id, us.skill.id FROM UserSkill us")
+    List<Object[]> findAllUserSkillIds();
+
+    @Modifying
+    @Query("DELETE FROM UserSkill us WHERE us.user.id IN (SELECT u.id FROM User u WHERE u.id IN :ids AND u.emailVerified = false)")
+    int deleteOfUnverifiedUsers(@Param("ids") Collection<Long> ids);
+
     void deleteByUserAndType(User user, UserSkill.SkillType type);
 }
@@ -0,0 +1,58 @@
+package com.hackathon.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hackathon.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Short-lived record of which token holders are still active.
+// A deactivated user keeps access for at most the TTL; paths that remove users (the housekeeping
+// purge of unverified accounts) invalidate their entries directly.
+@Component
+public class ActiveUserCache {
+
+    @Value("${app.auth.active-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.auth.active-check.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${app.auth.active-check.max-size:100000}")
+    private long maxSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, Boolean> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "active-users");
+    }
+
+    public boolean isActive(Long userId) {
+        if (!enabled) {
+            return true;
+        }
+        return cache.get(userId, userRepository::existsByIdAndActiveTrue);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hackathon.backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt encoder whose cost is picked at startup from a timing run on this machine, unless pinned.
+// Only hashes made with a lower cost are reported for upgrade: a slow start or a slower instance
+// must not rehash stronger passwords down, or instances with different costs would rehash the
+// same users back and forth on every login.
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int PROBE_STRENGTH = 10;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    // Each extra cost step doubles the work, so one timed hash at the probe cost is enough
+    // to pick the highest cost that stays within the target
+    public static AdaptiveBCryptPasswordEncoder calibrated(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        probe.encode("calibration-probe");
+        double probeMillis = Math.max((System.nanoTime() - start) / 1_000_000.0, 0.1);
+
+        int strength = PROBE_STRENGTH;
+        double estimate = probeMillis;
+        while (strength < maxStrength && estimate * 2 <= targetMillis) {
+            strength++;
+            estimate *= 2;
+        }
+        while (strength > minStrength && estimate > targetMillis) {
+            strength--;
+            estimate /= 2;
+        }
+
+        log.info("BCrypt cost {} selected (~{} ms per hash, target {} ms)",
+                strength, Math.round(estimate), targetMillis);
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+}
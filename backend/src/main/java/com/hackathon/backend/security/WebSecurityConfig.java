@@ -1,6 +1,7 @@
 package com.hackathon.backend.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,7 +10,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -33,8 +33,15 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.auth.bcrypt.strength:0}") int strength,
+            @Value("${app.auth.bcrypt.target-ms:250}") long targetMillis,
+            @Value("${app.auth.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.auth.bcrypt.max-strength:14}") int maxStrength) {
+        if (strength > 0) {
+            return new AdaptiveBCryptPasswordEncoder(strength);
+        }
+        return AdaptiveBCryptPasswordEncoder.calibrated(targetMillis, minStrength, maxStrength);
     }
 
     @Bean
@@ -10,13 +10,15 @@ import com.hackathon.backend.entity.User;
 import com.hackathon.backend.repository.EmailVerificationTokenRepository;
 import com.hackathon.backend.repository.UserRepository;
 import com.hackathon.backend.security.JwtUtils;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -44,36 +46,61 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
 
-    public ApiResponse register(RegisterRequest request) {
-        try {
-            // Check if email already exists
-            if (userRepository.existsByEmail(request.getEmail())) {
-                return new ApiResponse(false, "Email is already registered!");
-            }
+    @Autowired
+    private ProfileSearchIndex searchIndex;
 
-            // Create new user
-            User user = new User(
-                    request.getFirstName(),
-                    request.getLastName(),
-                    request.getEmail(),
-                    passwordEncoder.encode(request.getPassword())
-            );
+    @Autowired
+    private ProfileCache profileCache;
 
-            user.getRoles().add(Role.USER);
-            User savedUser = userRepository.save(user);
+    @Autowired
+    private PlatformStatsCounters platformStats;
 
-            // Generate verification token
-            String token = UUID.randomUUID().toString();
-            EmailVerificationToken verificationToken = new EmailVerificationToken(token, savedUser);
-            tokenRepository.save(verificationToken);
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
-            // Send verification email
-            emailService.sendVerificationEmail(savedUser, token);
+    private TransactionTemplate registration;
 
-            return new ApiResponse(true, "User registered successfully. Please check your email for verification.");
-        } catch (Exception e) {
-            return new ApiResponse(false, "Registration failed: " + e.getMessage());
-        }
+    @PostConstruct
+    void init() {
+        registration = new TransactionTemplate(transactionManager);
+    }
+
+    // The password is hashed before the transaction opens, so the slow BCrypt work holds no pooled
+    // connection. User, verification token and outbox email commit together; no SMTP work happens here
+    public ApiResponse register(RegisterRequest request) {
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        return registration.execute(status -> {
+            try {
+                // Check if email already exists
+                if (userRepository.existsByEmail(request.getEmail())) {
+                    return new ApiResponse(false, "Email is already registered!");
+                }
+
+                // Create new user
+                User user = new User(
+                        request.getFirstName(),
+                        request.getLastName(),
+                        request.getEmail(),
+                        encodedPassword
+                );
+
+                user.getRoles().add(Role.USER);
+                User savedUser = userRepository.save(user);
+
+                // Generate verification token
+                String token = UUID.randomUUID().toString();
+                EmailVerificationToken verificationToken = new EmailVerificationToken(token, savedUser);
+                tokenRepository.save(verificationToken);
+
+                // Queue verification email
+                emailService.queueVerificationEmail(savedUser, token);
+
+                return new ApiResponse(true, "User registered successfully. Please check your email for verification.");
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                return new ApiResponse(false, "Registration failed: " + e.getMessage());
+            }
+        });
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -82,7 +109,6 @@ public class AuthService {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = jwtUtils.generateJwtToken(authentication);
 
             User user = userRepository.findByEmail(request.getEmail())
@@ -132,6 +158,11 @@ public class AuthService {
             user.setEmailVerified(true);
             userRepository.save(user);
             tokenRepository.delete(emailToken);
+            searchIndex.indexUser(user);
+            profileCache.invalidate(user.getId());
+            if (user.getActive()) {
+                platformStats.memberActivated();
+            }
 
             return new ApiResponse(true, "Email verified successfully! You can now log in.");
         } catch (Exception e) {
@@ -1,21 +1,32 @@
 package com.hackathon.backend.service;
 
 import com.hackathon.backend.dto.ApiResponse;
+import com.hackathon.backend.dto.BulkConnectionActionRequest;
+import com.hackathon.backend.dto.BulkConnectionActionResponse;
 import com.hackathon.backend.dto.ConnectionRequestDTO;
+import com.hackathon.backend.dto.ConnectionRequestPageResponse;
 import com.hackathon.backend.dto.ConnectionRequestResponseDTO;
-import com.hackathon.backend.dto.UserProfileDTO;
+import com.hackathon.backend.dto.ConnectionRequestSummary;
 import com.hackathon.backend.entity.ConnectionRequest;
 import com.hackathon.backend.entity.User;
 import com.hackathon.backend.repository.ConnectionRequestRepository;
 import com.hackathon.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +39,15 @@ public class ConnectionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PlatformStatsCounters platformStats;
+
+    @Autowired
+    private NotificationDigest notificationDigest;
+
+    // Runs without an outer transaction so the insert commits on its own and a duplicate
+    // key can be reported without leaving a rollback-only transaction behind
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse sendConnectionRequest(String senderEmail, ConnectionRequestDTO requestDTO) {
         try {
             // Find sender
@@ -54,15 +74,15 @@ public class ConnectionService {
                 return new ApiResponse(false, "Cannot send connection request to yourself");
             }
 
-            // Check if connection request already exists
-            boolean requestExists = checkExistingRequest(sender, receiver);
-            if (requestExists) {
+            // Create new connection request; an open request for the same pair trips the unique key
+            ConnectionRequest connectionRequest = new ConnectionRequest(sender, receiver, requestDTO.getMessage());
+            try {
+                connectionRequestRepository.save(connectionRequest);
+            } catch (DataIntegrityViolationException e) {
                 return new ApiResponse(false, "Connection request already exists or you are already connected");
             }
-
-            // Create new connection request
-            ConnectionRequest connectionRequest = new ConnectionRequest(sender, receiver, requestDTO.getMessage());
-            connectionRequestRepository.save(connectionRequest);
+            platformStats.requestSent();
+            notificationDigest.requestSent(connectionRequest.getId());
 
             return new ApiResponse(true, "Connection request sent successfully to " + receiver.getFullName());
 
@@ -73,76 +93,73 @@ public class ConnectionService {
         }
     }
 
-    private boolean checkExistingRequest(User sender, User receiver) {
-        try {
-            return connectionRequestRepository.existsBySenderAndReceiverAndStatusIn(
-                    sender, receiver, Arrays.asList(
-                            ConnectionRequest.RequestStatus.PENDING,
-                            ConnectionRequest.RequestStatus.ACCEPTED
-                    )
-            );
-        } catch (Exception e) {
-            // Fallback method if the repository method doesn't exist
-            Optional<ConnectionRequest> existingRequest = connectionRequestRepository.findBySenderAndReceiver(sender, receiver);
-            if (existingRequest.isPresent()) {
-                ConnectionRequest.RequestStatus status = existingRequest.get().getStatus();
-                return status == ConnectionRequest.RequestStatus.PENDING ||
-                        status == ConnectionRequest.RequestStatus.ACCEPTED;
-            }
-            return false;
-        }
-    }
-
     public List<ConnectionRequestResponseDTO> getReceivedRequests(String email) {
-        User user = userRepository.findByEmailAndActiveTrue(email)
+        Long userId = userRepository.findActiveIdByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<ConnectionRequest> requests = connectionRequestRepository
-                .findByReceiverAndStatus(user, ConnectionRequest.RequestStatus.PENDING);
-
-        return requests.stream()
-                .map(this::convertToConnectionRequestDTO)
+        return connectionRequestRepository
+                .findReceivedSummaries(userId, ConnectionRequest.RequestStatus.PENDING, null, Pageable.unpaged())
+                .stream()
+                .map(ConnectionRequestSummary::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ConnectionRequestResponseDTO> getSentRequests(String email) {
-        User user = userRepository.findByEmailAndActiveTrue(email)
+        Long userId = userRepository.findActiveIdByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return connectionRequestRepository
+                .findSentSummaries(userId, ConnectionRequest.RequestStatus.PENDING, null, Pageable.unpaged())
+                .stream()
+                .map(ConnectionRequestSummary::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ConnectionRequestPageResponse getInbox(String email, ConnectionRequest.RequestStatus status,
+                                                  Long cursor, int size) {
+        Long userId = userRepository.findActiveIdByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        List<ConnectionRequestSummary> rows = connectionRequestRepository
+                .findReceivedSummaries(userId, status, cursor, PageRequest.of(0, size + 1));
+        return toPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ConnectionRequestPageResponse getOutbox(String email, ConnectionRequest.RequestStatus status,
+                                                   Long cursor, int size) {
+        Long userId = userRepository.findActiveIdByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<ConnectionRequest> requests = connectionRequestRepository
-                .findBySenderAndStatus(user, ConnectionRequest.RequestStatus.PENDING);
+        List<ConnectionRequestSummary> rows = connectionRequestRepository
+                .findSentSummaries(userId, status, cursor, PageRequest.of(0, size + 1));
+        return toPage(rows, size);
+    }
 
-        return requests.stream()
-                .map(this::convertToConnectionRequestDTO)
+    // Rows are fetched with one extra element to tell whether another page exists
+    private ConnectionRequestPageResponse toPage(List<ConnectionRequestSummary> rows, int size) {
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).getId();
+        }
+        List<ConnectionRequestResponseDTO> requests = rows.stream()
+                .map(ConnectionRequestSummary::toResponseDTO)
                 .collect(Collectors.toList());
+        return new ConnectionRequestPageResponse(requests, nextCursor, size);
     }
 
     public ApiResponse acceptConnectionRequest(String email, Long requestId) {
         try {
-            User user = userRepository.findByEmailAndActiveTrue(email)
+            Long userId = userRepository.findActiveIdByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Optional<ConnectionRequest> requestOpt = connectionRequestRepository.findById(requestId);
-            if (requestOpt.isEmpty()) {
-                return new ApiResponse(false, "Connection request not found");
-            }
-
-            ConnectionRequest request = requestOpt.get();
-
-            // Verify user is the receiver
-            if (!request.getReceiver().getId().equals(user.getId())) {
-                return new ApiResponse(false, "You are not authorized to accept this request");
-            }
-
-            // Check if request is still pending
-            if (request.getStatus() != ConnectionRequest.RequestStatus.PENDING) {
-                return new ApiResponse(false, "This request has already been processed");
+            if (connectionRequestRepository.acceptPending(List.of(requestId), userId, LocalDateTime.now()) == 0) {
+                return transitionFailure(requestId, userId, "accept");
             }
-
-            // Accept the request
-            request.setStatus(ConnectionRequest.RequestStatus.ACCEPTED);
-            request.setRespondedAt(LocalDateTime.now());
-            connectionRequestRepository.save(request);
+            platformStats.requestsAccepted(1);
+            notificationDigest.requestsAccepted(List.of(requestId));
 
             return new ApiResponse(true, "Connection request accepted successfully");
 
@@ -153,30 +170,13 @@ public class ConnectionService {
 
     public ApiResponse declineConnectionRequest(String email, Long requestId) {
         try {
-            User user = userRepository.findByEmailAndActiveTrue(email)
+            Long userId = userRepository.findActiveIdByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Optional<ConnectionRequest> requestOpt = connectionRequestRepository.findById(requestId);
-            if (requestOpt.isEmpty()) {
-                return new ApiResponse(false, "Connection request not found");
-            }
-
-            ConnectionRequest request = requestOpt.get();
-
-            // Verify user is the receiver
-            if (!request.getReceiver().getId().equals(user.getId())) {
-                return new ApiResponse(false, "You are not authorized to decline this request");
-            }
-
-            // Check if request is still pending
-            if (request.getStatus() != ConnectionRequest.RequestStatus.PENDING) {
-                return new ApiResponse(false, "This request has already been processed");
+            if (connectionRequestRepository.declinePending(List.of(requestId), userId, LocalDateTime.now()) == 0) {
+                return transitionFailure(requestId, userId, "decline");
             }
-
-            // Decline the request
-            request.setStatus(ConnectionRequest.RequestStatus.DECLINED);
-            request.setRespondedAt(LocalDateTime.now());
-            connectionRequestRepository.save(request);
+            notificationDigest.requestsDeclined(List.of(requestId));
 
             return new ApiResponse(true, "Connection request declined successfully");
 
@@ -185,31 +185,62 @@ public class ConnectionService {
         }
     }
 
-    private ConnectionRequestResponseDTO convertToConnectionRequestDTO(ConnectionRequest request) {
-        ConnectionRequestResponseDTO dto = new ConnectionRequestResponseDTO();
-        dto.setId(request.getId());
-        dto.setMessage(request.getMessage());
-        dto.setStatus(request.getStatus());
-        dto.setCreatedAt(request.getCreatedAt());
-        dto.setRespondedAt(request.getRespondedAt());
+    public BulkConnectionActionResponse bulkRespond(String email, BulkConnectionActionRequest request) {
+        Long userId = userRepository.findActiveIdByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        boolean accept = request.getAction() == BulkConnectionActionRequest.Action.ACCEPT;
+        Set<Long> requestIds = new LinkedHashSet<>(request.getRequestIds());
+
+        Map<Long, ConnectionRequest> found = new HashMap<>();
+        for (ConnectionRequest connectionRequest : connectionRequestRepository.findAllForUpdate(requestIds)) {
+            found.put(connectionRequest.getId(), connectionRequest);
+        }
+
+        List<Long> eligible = new ArrayList<>();
+        Map<Long, String> failures = new HashMap<>();
+        for (Long requestId : requestIds) {
+            ConnectionRequest connectionRequest = found.get(requestId);
+            if (connectionRequest == null) {
+                failures.put(requestId, "Connection request not found");
+            } else if (!connectionRequest.getReceiver().getId().equals(userId)) {
+                failures.put(requestId, "You are not authorized to " + (accept ? "accept" : "decline") + " this request");
+            } else if (connectionRequest.getStatus() != ConnectionRequest.RequestStatus.PENDING) {
+                failures.put(requestId, "This request has already been processed");
+            } else {
+                eligible.add(requestId);
+            }
+        }
 
-        // Convert sender and receiver to profile DTOs
-        dto.setSender(convertToBasicProfileDTO(request.getSender()));
-        dto.setReceiver(convertToBasicProfileDTO(request.getReceiver()));
+        if (!eligible.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            if (accept) {
+                platformStats.requestsAccepted(connectionRequestRepository.acceptPending(eligible, userId, now));
+                notificationDigest.requestsAccepted(eligible);
+            } else {
+                connectionRequestRepository.declinePending(eligible, userId, now);
+                notificationDigest.requestsDeclined(eligible);
+            }
+        }
 
-        return dto;
+        String successMessage = "Connection request " + (accept ? "accepted" : "declined") + " successfully";
+        List<BulkConnectionActionResponse.Result> results = new ArrayList<>(requestIds.size());
+        for (Long requestId : requestIds) {
+            String failure = failures.get(requestId);
+            results.add(new BulkConnectionActionResponse.Result(
+                    requestId, failure == null, failure == null ? successMessage : failure));
+        }
+        return new BulkConnectionActionResponse(results);
     }
 
-    private UserProfileDTO convertToBasicProfileDTO(User user) {
-        UserProfileDTO dto = new UserProfileDTO();
-        dto.setId(user.getId());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setProfilePhoto(user.getProfilePhoto());
-        dto.setLocation(user.getLocation());
-        dto.setAverageRating(user.getAverageRating());
-        dto.setCompletedSwaps(user.getCompletedSwaps());
-        dto.setAvailability(user.getAvailability());
-        return dto;
+    // The conditional update matched nothing; one extra read works out which check failed
+    private ApiResponse transitionFailure(Long requestId, Long userId, String action) {
+        Optional<Long> receiverId = connectionRequestRepository.findReceiverIdById(requestId);
+        if (receiverId.isEmpty()) {
+            return new ApiResponse(false, "Connection request not found");
+        }
+        if (!receiverId.get().equals(userId)) {
+            return new ApiResponse(false, "You are not authorized to " + action + " this request");
+        }
+        return new ApiResponse(false, "This request has already been processed");
     }
 }
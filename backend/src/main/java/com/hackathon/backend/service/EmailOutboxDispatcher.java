@@ -0,0 +1,215 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.EmailOutboxMessage;
+import com.hackathon.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the email outbox in the background.
+// Each batch goes out over a single SMTP connection; failed messages are retried with
+// exponential backoff and parked as DEAD once they run out of attempts.
+// Rows are claimed as SENDING before the SMTP call so concurrent instances never send the same
+// message; the claim is a lease, and a row left behind by a crashed instance is picked up again
+// once it expires. Claims and outcomes are written with batch updates rather than entity merges.
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${spring.mail.username}")
+    private String from;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter deadCounter;
+    private Timer batchTimer;
+    private Timer deliveryLatency;
+
+    @PostConstruct
+    void init() {
+        sentCounter = meterRegistry.counter("mail.outbox.sent");
+        failedCounter = meterRegistry.counter("mail.outbox.failed");
+        deadCounter = meterRegistry.counter("mail.outbox.dead.lettered");
+        batchTimer = meterRegistry.timer("mail.outbox.batch");
+        // Time from the outbox insert to the SMTP server accepting the message
+        deliveryLatency = Timer.builder("mail.outbox.delivery.latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("mail.outbox.dead", dead, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            List<Long> dueIds;
+            do {
+                dueIds = outboxRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (!dueIds.isEmpty()) {
+                    String token = UUID.randomUUID().toString();
+                    List<EmailOutboxMessage> claimed = claim(dueIds, token);
+                    if (!claimed.isEmpty()) {
+                        deliver(claimed, token);
+                    }
+                }
+            } while (dueIds.size() == batchSize);
+
+            pending.set(outboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+            dead.set(outboxRepository.countByStatus(EmailOutboxMessage.Status.DEAD));
+        } catch (Exception e) {
+            log.error("Email outbox dispatch failed", e);
+        }
+    }
+
+    // One UPDATE for the whole batch, then one SELECT for the rows it actually won
+    private List<EmailOutboxMessage> claim(List<Long> ids, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(ids, now, now.plus(lease), token) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findClaimed(ids, token);
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch, String token) {
+        Map<MimeMessage, EmailOutboxMessage> byMime = new IdentityHashMap<>();
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message);
+                byMime.put(mimeMessage, message);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+
+        if (!mimeMessages.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Only the listed messages failed; the rest of the batch was accepted
+                for (Map.Entry<Object, Exception> failed : e.getFailedMessages().entrySet()) {
+                    EmailOutboxMessage message = byMime.get(failed.getKey());
+                    if (message != null) {
+                        failures.put(message, failed.getValue());
+                    }
+                }
+                if (e.getFailedMessages().isEmpty()) {
+                    byMime.values().forEach(message -> failures.put(message, e));
+                }
+            } catch (MailException e) {
+                byMime.values().forEach(message -> failures.put(message, e));
+            } finally {
+                sample.stop(batchTimer);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(message.getId());
+                sentCounter.increment();
+                deliveryLatency.record(Duration.between(message.getCreatedAt(), now));
+            } else {
+                recordFailure(message, token, failure, now);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxRepository.markSent(sentIds, token, now);
+        }
+    }
+
+    private void recordFailure(EmailOutboxMessage message, String token, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        String lastError = truncate(String.valueOf(failure.getMessage()));
+        failedCounter.increment();
+
+        if (attempts >= maxAttempts) {
+            outboxRepository.markFailed(message.getId(), token, EmailOutboxMessage.Status.DEAD, attempts,
+                    lastError, message.getNextAttemptAt());
+            deadCounter.increment();
+            log.warn("Email {} to {} dead-lettered after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+
+        // initial, 2x, 4x ... capped at the maximum
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(multiplier);
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        outboxRepository.markFailed(message.getId(), token, EmailOutboxMessage.Status.PENDING, attempts,
+                lastError, now.plus(backoff));
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+        helper.setTo(message.getRecipient());
+        helper.setFrom(from);
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mimeMessage;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
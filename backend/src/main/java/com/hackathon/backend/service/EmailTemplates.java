@@ -0,0 +1,96 @@
+package com.hackathon.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Email templates under classpath:templates/email, parsed once at startup.
+// {{name}} inserts an HTML-escaped value, {{&name}} inserts it as is.
+@Component
+public class EmailTemplates {
+
+    private static final String LOCATION = "classpath:templates/email/*.html";
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    @PostConstruct
+    void compileAll() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String filename = resource.getFilename();
+            String name = filename.substring(0, filename.length() - ".html".length());
+            templates.put(name, Template.compile(resource.getContentAsString(StandardCharsets.UTF_8)));
+        }
+    }
+
+    public String render(String name, Map<String, ?> model) {
+        Template template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return template.render(model);
+    }
+
+    private static final class Template {
+        // Literal text at even indexes, variable names at odd ones
+        private final String[] parts;
+        private final boolean[] raw;
+        private final int sizeHint;
+
+        private Template(String[] parts, boolean[] raw, int sizeHint) {
+            this.parts = parts;
+            this.raw = raw;
+            this.sizeHint = sizeHint;
+        }
+
+        static Template compile(String source) {
+            List<String> parts = new ArrayList<>();
+            List<Boolean> raw = new ArrayList<>();
+            int position = 0;
+            while (true) {
+                int open = source.indexOf("{{", position);
+                int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    parts.add(source.substring(position));
+                    break;
+                }
+                parts.add(source.substring(position, open));
+                String name = source.substring(open + 2, close).trim();
+                boolean unescaped = name.startsWith("&");
+                parts.add(unescaped ? name.substring(1).trim() : name);
+                raw.add(unescaped);
+                position = close + 2;
+            }
+
+            boolean[] rawFlags = new boolean[raw.size()];
+            for (int i = 0; i < rawFlags.length; i++) {
+                rawFlags[i] = raw.get(i);
+            }
+            return new Template(parts.toArray(new String[0]), rawFlags, source.length() + 256);
+        }
+
+        String render(Map<String, ?> model) {
+            StringBuilder out = new StringBuilder(sizeHint);
+            for (int i = 0; i < parts.length; i++) {
+                if (i % 2 == 0) {
+                    out.append(parts[i]);
+                    continue;
+                }
+                Object value = model.get(parts[i]);
+                if (value != null) {
+                    String text = value.toString();
+                    out.append(raw[i / 2] ? text : HtmlUtils.htmlEscape(text));
+                }
+            }
+            return out.toString();
+        }
+    }
+}
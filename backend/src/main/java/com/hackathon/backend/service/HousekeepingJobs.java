@@ -0,0 +1,230 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.repository.ConnectionRequestRepository;
+import com.hackathon.backend.repository.EmailVerificationTokenRepository;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.repository.UserSkillOfferedRepository;
+import com.hackathon.backend.repository.UserSkillRepository;
+import com.hackathon.backend.security.ActiveUserCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Periodic cleanup of expired verification tokens (optionally with their never-verified
+// users), of connection requests left pending for too long and of unreferenced photo files.
+// Work is split into keyset-ordered chunks, each committed in its own short transaction.
+// Every statement re-checks its condition, so overlapping runs on several instances only
+// repeat no-op work instead of conflicting.
+@Component
+public class HousekeepingJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(HousekeepingJobs.class);
+
+    @Value("${app.housekeeping.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.housekeeping.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.housekeeping.purge-unverified-users:false}")
+    private boolean purgeUnverifiedUsers;
+
+    @Value("${app.housekeeping.pending-request-max-age:30d}")
+    private Duration pendingRequestMaxAge;
+
+    @Value("${app.housekeeping.photo-grace-period:1h}")
+    private Duration photoGracePeriod;
+
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private UserSkillOfferedRepository userSkillOfferedRepository;
+
+    @Autowired
+    private ProfileSearchIndex searchIndex;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private ActiveUserCache activeUserCache;
+
+    @Autowired
+    private PhotoStorage photoStorage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate chunkTransaction;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${app.housekeeping.interval-ms:3600000}",
+            initialDelayString = "${app.housekeeping.initial-delay-ms:60000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purgeExpiredTokens();
+        } catch (Exception e) {
+            log.error("Expired token purge failed", e);
+        }
+        try {
+            expireStalePendingRequests();
+        } catch (Exception e) {
+            log.error("Stale request expiry failed", e);
+        }
+        try {
+            sweepOrphanPhotos();
+        } catch (Exception e) {
+            log.error("Orphan photo sweep failed", e);
+        }
+    }
+
+    public int purgeExpiredTokens() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = 0;
+        int users = 0;
+
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = tokenRepository.findExpiredIds(now, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<Long> chunk = ids;
+            int[] purged = chunkTransaction.execute(status -> purgeTokenChunk(chunk, now));
+            tokens += purged[0];
+            users += purged[1];
+        } while (ids.size() == chunkSize);
+
+        record("tokens", tokens, sample);
+        if (purgeUnverifiedUsers) {
+            record("unverified-users", users, null);
+        }
+        if (tokens > 0 || users > 0) {
+            log.info("Housekeeping purged {} expired tokens and {} unverified users", tokens, users);
+        }
+        return tokens;
+    }
+
+    private int[] purgeTokenChunk(List<Long> tokenIds, LocalDateTime now) {
+        List<Long> userIds = purgeUnverifiedUsers ? tokenRepository.findUnverifiedUserIds(tokenIds) : List.of();
+        int tokens = tokenRepository.deleteExpired(tokenIds, now);
+        if (userIds.isEmpty()) {
+            return new int[]{tokens, 0};
+        }
+
+        connectionRequestRepository.deleteInvolvingUnverifiedUsers(userIds);
+        userSkillRepository.deleteOfUnverifiedUsers(userIds);
+        userSkillOfferedRepository.deleteOfUnverifiedUsers(userIds);
+        userRepository.deleteRolesOfUnverified(userIds);
+        int users = userRepository.deleteUnverified(userIds);
+        for (Long userId : userIds) {
+            searchIndex.remove(userId);
+            profileCache.invalidate(userId);
+            activeUserCache.invalidate(userId);
+        }
+        return new int[]{tokens, users};
+    }
+
+    public int expireStalePendingRequests() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(pendingRequestMaxAge);
+        int expired = 0;
+
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = connectionRequestRepository.findStalePendingIds(cutoff, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<Long> chunk = ids;
+            expired += chunkTransaction.execute(status ->
+                    connectionRequestRepository.cancelStalePending(chunk, cutoff, now));
+        } while (ids.size() == chunkSize);
+
+        record("stale-requests", expired, sample);
+        if (expired > 0) {
+            log.info("Housekeeping cancelled {} pending requests older than {}", expired, pendingRequestMaxAge);
+        }
+        return expired;
+    }
+
+    // References are read before the files are listed; anything stored after that point is
+    // younger than the grace period, so it cannot be mistaken for an orphan
+    public int sweepOrphanPhotos() throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Set<String> liveKeys = new HashSet<>();
+
+        Long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = userRepository.findPhotoReferences(afterId, PageRequest.of(0, chunkSize));
+            for (Object[] row : rows) {
+                liveKeys.add(PhotoStorage.contentKey((String) row[1]));
+            }
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == chunkSize);
+
+        int deleted = photoStorage.sweep(liveKeys, photoGracePeriod);
+        record("orphan-photos", deleted, sample);
+        if (deleted > 0) {
+            log.info("Housekeeping deleted {} unreferenced photo files", deleted);
+        }
+        return deleted;
+    }
+
+    // housekeeping.rows{job=...} holds rows affected per run; housekeeping.duration times each run
+    private void record(String job, int rows, Timer.Sample sample) {
+        DistributionSummary.builder("housekeeping.rows")
+                .tag("job", job)
+                .register(meterRegistry)
+                .record(rows);
+        if (sample != null) {
+            sample.stop(meterRegistry.timer("housekeeping.duration", "job", job));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.EmailOutboxMessage;
+import com.hackathon.backend.repository.ConnectionRequestRepository;
+import com.hackathon.backend.repository.EmailOutboxRepository;
+import com.hackathon.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Collects connection events in memory and turns them into one digest email per recipient
+// per interval. Events only carry the request id; participants and recipients are looked
+// up in batches at flush time, so recording an event costs no database work.
+@Component
+public class NotificationDigest {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigest.class);
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    @Value("${app.name}")
+    private String appName;
+
+    @Value("${app.baseUrl}")
+    private String baseUrl;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailTemplates emailTemplates;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+
+    private Counter eventCounter;
+    private Counter digestCounter;
+    private Counter optedOutCounter;
+
+    @PostConstruct
+    void init() {
+        eventCounter = meterRegistry.counter("notifications.events");
+        digestCounter = meterRegistry.counter("notifications.digests");
+        optedOutCounter = meterRegistry.counter("notifications.skipped.opted.out");
+    }
+
+    public void requestSent(Long requestId) {
+        record(EventType.REQUEST_RECEIVED, List.of(requestId));
+    }
+
+    public void requestsAccepted(Collection<Long> requestIds) {
+        record(EventType.REQUEST_ACCEPTED, requestIds);
+    }
+
+    public void requestsDeclined(Collection<Long> requestIds) {
+        record(EventType.REQUEST_DECLINED, requestIds);
+    }
+
+    private void record(EventType type, Collection<Long> requestIds) {
+        List<Long> ids = List.copyOf(requestIds);
+        AfterCommit.run(() -> {
+            for (Long requestId : ids) {
+                events.add(new Event(type, requestId));
+            }
+            eventCounter.increment(ids.size());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.digest-interval-ms:900000}",
+            initialDelayString = "${app.notifications.digest-interval-ms:900000}")
+    public void flush() {
+        List<Event> drained = new ArrayList<>();
+        Event event;
+        while ((event = events.poll()) != null) {
+            drained.add(event);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            outboxRepository.saveAll(buildDigests(drained));
+        } catch (Exception e) {
+            // Put the events back so the next run picks them up
+            events.addAll(drained);
+            log.error("Notification digest flush failed, {} events requeued", drained.size(), e);
+        }
+    }
+
+    private List<EmailOutboxMessage> buildDigests(List<Event> drained) {
+        Set<Long> requestIds = new LinkedHashSet<>();
+        for (Event event : drained) {
+            requestIds.add(event.requestId);
+        }
+
+        // request id -> {sender id, receiver id}
+        Map<Long, Long[]> participants = new HashMap<>();
+        for (List<Long> chunk : chunks(requestIds)) {
+            for (Object[] row : connectionRequestRepository.findParticipantsByIds(chunk)) {
+                participants.put((Long) row[0], new Long[]{(Long) row[1], (Long) row[2]});
+            }
+        }
+
+        // recipient id -> {actor id, event type} in the order the events happened
+        Map<Long, List<Object[]>> itemsByRecipient = new LinkedHashMap<>();
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Event event : drained) {
+            Long[] pair = participants.get(event.requestId);
+            if (pair == null) {
+                continue;
+            }
+            Long recipient = event.type == EventType.REQUEST_RECEIVED ? pair[1] : pair[0];
+            Long actor = event.type == EventType.REQUEST_RECEIVED ? pair[0] : pair[1];
+            itemsByRecipient.computeIfAbsent(recipient, id -> new ArrayList<>())
+                    .add(new Object[]{actor, event.type});
+            userIds.add(recipient);
+            userIds.add(actor);
+        }
+
+        // user id -> {email, firstName, lastName, receiveNotifications, active}
+        Map<Long, Object[]> contacts = new HashMap<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            for (Object[] row : userRepository.findNotificationContacts(chunk)) {
+                contacts.put((Long) row[0], row);
+            }
+        }
+
+        List<EmailOutboxMessage> digests = new ArrayList<>();
+        for (Map.Entry<Long, List<Object[]>> entry : itemsByRecipient.entrySet()) {
+            Object[] recipient = contacts.get(entry.getKey());
+            if (recipient == null || !Boolean.TRUE.equals(recipient[5])) {
+                continue;
+            }
+            if (!Boolean.TRUE.equals(recipient[4])) {
+                optedOutCounter.increment();
+                continue;
+            }
+            digests.add(renderDigest(recipient, entry.getValue(), contacts));
+        }
+        digestCounter.increment(digests.size());
+        return digests;
+    }
+
+    private EmailOutboxMessage renderDigest(Object[] recipient, List<Object[]> items, Map<Long, Object[]> contacts) {
+        StringBuilder renderedItems = new StringBuilder();
+        for (Object[] item : items) {
+            Object[] actor = contacts.get((Long) item[0]);
+            String actorName = actor != null ? actor[2] + " " + actor[3] : "A member";
+            renderedItems.append(emailTemplates.render("digest-item", Map.of(
+                    "actor", actorName,
+                    "action", ((EventType) item[1]).description
+            )));
+        }
+
+        String body = emailTemplates.render("digest", Map.of(
+                "appName", appName,
+                "firstName", String.valueOf(recipient[2]),
+                "items", renderedItems.toString(),
+                "requestsUrl", baseUrl + "/request"
+        ));
+        String subject = items.size() == 1
+                ? "1 new connection update - " + appName
+                : items.size() + " new connection updates - " + appName;
+        return new EmailOutboxMessage((String) recipient[1], subject, body);
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            chunks.add(all.subList(from, Math.min(from + LOOKUP_CHUNK, all.size())));
+        }
+        return chunks;
+    }
+
+    private enum EventType {
+        REQUEST_RECEIVED("sent you a connection request"),
+        REQUEST_ACCEPTED("accepted your connection request"),
+        REQUEST_DECLINED("declined your connection request");
+
+        private final String description;
+
+        EventType(String description) {
+            this.description = description;
+        }
+    }
+
+    private static final class Event {
+        private final EventType type;
+        private final Long requestId;
+
+        private Event(EventType type, Long requestId) {
+            this.type = type;
+            this.requestId = requestId;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.hackathon.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Resolves photo names under the upload directory and remembers their size, timestamp and ETag.
+// Stored photos never change once written, so a cached entry stays valid until the file is removed.
+@Component
+public class PhotoMetadataCache {
+
+    // Relative names only: no "..", no leading slash, no encoded characters
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-]+(/[A-Za-z0-9_-]+)*\\.[A-Za-z0-9]+");
+
+    // <sha256>[-size]: the name already identifies the bytes, so it is the ETag
+    private static final Pattern CONTENT_NAME = Pattern.compile("[0-9a-f]{64}(-\\d{1,5})?");
+
+    @Value("${app.uploads.profile-photos-dir:uploads/profile-photos}")
+    private String photoDir;
+
+    @Value("${app.cache.photo-metadata.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.photo-metadata.ttl:1h}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Path root;
+
+    private Cache<String, PhotoFile> cache;
+
+    @PostConstruct
+    void init() {
+        root = Paths.get(photoDir).toAbsolutePath().normalize();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "photo-metadata");
+    }
+
+    // Null when the name is not a safe relative path or no such file exists
+    public PhotoFile lookup(String name) throws IOException {
+        PhotoFile cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return cached;
+        }
+        if (!SAFE_NAME.matcher(name).matches()) {
+            return null;
+        }
+
+        Path path = root.resolve(name).normalize();
+        if (!path.startsWith(root)) {
+            return null;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+
+        PhotoFile file = new PhotoFile(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        cache.put(name, file);
+        return file;
+    }
+
+    public void evict(String name) {
+        cache.invalidate(name);
+    }
+
+    public static final class PhotoFile {
+        private final Path path;
+        private final long length;
+        private final long lastModified;
+        private final String etag;
+        private final String contentType;
+
+        PhotoFile(Path path, long length, long lastModified) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.etag = etagOf(path.getFileName().toString(), length, lastModified);
+            this.contentType = contentTypeOf(path.getFileName().toString());
+        }
+
+        public Path getPath() { return path; }
+
+        public long getLength() { return length; }
+
+        public long getLastModified() { return lastModified; }
+
+        public String getEtag() { return etag; }
+
+        public String getContentType() { return contentType; }
+
+        // Content-addressed files are tagged by their hash, which no timestamp change can affect
+        private static String etagOf(String filename, long length, long lastModified) {
+            int dot = filename.lastIndexOf('.');
+            String base = dot > 0 ? filename.substring(0, dot) : filename;
+            if (CONTENT_NAME.matcher(base).matches()) {
+                return "\"" + base + "\"";
+            }
+            return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+        }
+
+        private static String contentTypeOf(String filename) {
+            String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            switch (extension) {
+                case "jpg":
+                case "jpeg":
+                    return "image/jpeg";
+                case "png":
+                    return "image/png";
+                case "gif":
+                    return "image/gif";
+                case "webp":
+                    return "image/webp";
+                default:
+                    return "application/octet-stream";
+            }
+        }
+    }
+}
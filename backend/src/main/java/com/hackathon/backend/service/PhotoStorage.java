@@ -0,0 +1,281 @@
+package com.hackathon.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Content-addressed store for profile photos: a file is named after the SHA-256 of its bytes
+// and sharded as ab/cd/<hash>.<ext>, so identical uploads share one file.
+// Nothing is deleted when a user replaces a photo; sweep() later removes files that no user
+// references any more, sparing recently written or re-uploaded ones so in-flight uploads survive.
+// A stored file's timestamp never changes after it is written (it backs Last-Modified); a re-upload
+// of existing content touches a reference marker in the incoming directory instead.
+@Component
+public class PhotoStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoStorage.class);
+
+    public static final String URL_PREFIX = "/uploads/profile-photos/";
+
+    private static final String INCOMING_DIR = ".incoming";
+
+    private static final String REFERENCE_SUFFIX = ".ref";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Enough for every signature sniffExtension checks
+    private static final int SNIFF_LENGTH = 12;
+
+    // Resized variants are stored as <key>-<size>.<ext> beside the original
+    private static final Pattern VARIANT_SUFFIX = Pattern.compile("-\\d{1,5}$");
+
+    @Value("${app.uploads.profile-photos-dir:uploads/profile-photos}")
+    private String photoDir;
+
+    @Autowired
+    private PhotoMetadataCache photoMetadataCache;
+
+    private Path root;
+
+    private Path incoming;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(photoDir).toAbsolutePath().normalize();
+        incoming = root.resolve(INCOMING_DIR);
+        Files.createDirectories(incoming);
+    }
+
+    // Reads the upload once: the image type is sniffed from the first bytes, the content is
+    // hashed while it is written to a temp file on the same disk, and reading stops as soon as
+    // maxBytes is exceeded. The finished file is renamed into place unless the same content
+    // is already stored.
+    public StoredPhoto store(InputStream content, long maxBytes) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int headerLength = content.readNBytes(buffer, 0, SNIFF_LENGTH);
+        if (headerLength == 0) {
+            throw new RejectedPhotoException("Please select a file", false);
+        }
+        String extension = sniffExtension(buffer, headerLength);
+        if (extension == null) {
+            throw new RejectedPhotoException("Please upload a JPEG, PNG, GIF or WebP image", false);
+        }
+
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                out.write(buffer, 0, headerLength);
+                long total = headerLength;
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new RejectedPhotoException(sizeLimitMessage(maxBytes), true);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String name = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+            Path target = root.resolve(name);
+
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // The sweeper's grace period has to cover the new reference too
+                touch(incoming.resolve(hash + REFERENCE_SUFFIX));
+            } else {
+                moveIntoPlace(temp, target);
+            }
+            return new StoredPhoto(URL_PREFIX + name, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Deletes stored files older than the grace period whose content key is not live
+    public int sweep(Set<String> liveKeys, Duration gracePeriod) throws IOException {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<Path> orphans = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile).forEach(path -> {
+                try {
+                    boolean old = Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+                    // Abandoned uploads and stale reference markers
+                    boolean incomingFile = path.startsWith(incoming);
+                    String key = contentKey(path.getFileName().toString());
+                    if (old && (incomingFile || (!liveKeys.contains(key) && !referencedSince(key, cutoff)))) {
+                        orphans.add(path);
+                    }
+                } catch (IOException e) {
+                    // Vanished while walking
+                }
+            });
+        }
+
+        int deleted = 0;
+        for (Path orphan : orphans) {
+            try {
+                if (Files.deleteIfExists(orphan)) {
+                    deleted++;
+                    photoMetadataCache.evict(root.relativize(orphan).toString().replace('\\', '/'));
+                }
+                deleteEmptyShards(orphan.getParent());
+            } catch (IOException e) {
+                log.warn("Could not delete orphaned photo {}: {}", orphan, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    public static String sizeLimitMessage(long maxBytes) {
+        DataSize limit = DataSize.ofBytes(maxBytes);
+        return limit.toMegabytes() > 0
+                ? "File size must be less than " + limit.toMegabytes() + "MB"
+                : "File size must be less than " + limit.toKilobytes() + "KB";
+    }
+
+    // Key shared by a stored photo and its variants: the file name without extension or size suffix
+    public static String contentKey(String filenameOrUrl) {
+        String name = filenameOrUrl.substring(filenameOrUrl.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        return VARIANT_SUFFIX.matcher(name).replaceFirst("");
+    }
+
+    private boolean referencedSince(String key, Instant cutoff) throws IOException {
+        Path marker = incoming.resolve(key + REFERENCE_SUFFIX);
+        try {
+            return !Files.getLastModifiedTime(marker).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static void touch(Path path) throws IOException {
+        try {
+            Files.createFile(path);
+        } catch (FileAlreadyExistsException e) {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        }
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the race
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException alreadyStored) {
+                // Same as above
+            }
+        }
+    }
+
+    private void deleteEmptyShards(Path directory) throws IOException {
+        while (directory != null && directory.startsWith(root) && !directory.equals(root)
+                && !directory.equals(incoming)) {
+            try (Stream<Path> entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    return;
+                }
+            }
+            Files.deleteIfExists(directory);
+            directory = directory.getParent();
+        }
+    }
+
+    // The client's file name and Content-Type are ignored; only these signatures are accepted
+    private static String sniffExtension(byte[] header, int length) {
+        if (startsWith(header, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(header, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(header, length, 0, 'G', 'I', 'F', '8') && length > 4 && (header[4] == '7' || header[4] == '9')) {
+            return "gif";
+        }
+        if (startsWith(header, length, 0, 'R', 'I', 'F', 'F') && startsWith(header, length, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, int... signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Rejected before anything was stored; tooLarge tells a size violation from a bad format
+    public static class RejectedPhotoException extends IOException {
+        private final boolean tooLarge;
+
+        public RejectedPhotoException(String message, boolean tooLarge) {
+            super(message);
+            this.tooLarge = tooLarge;
+        }
+
+        public boolean isTooLarge() { return tooLarge; }
+    }
+
+    public static final class StoredPhoto {
+        private final String url;
+        private final Path path;
+
+        StoredPhoto(String url, Path path) {
+            this.url = url;
+            this.path = path;
+        }
+
+        public String getUrl() { return url; }
+
+        public Path getPath() { return path; }
+    }
+}
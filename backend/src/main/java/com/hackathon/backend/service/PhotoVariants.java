@@ -0,0 +1,55 @@
+package com.hackathon.backend.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Resized copies of a profile photo, stored on the user as "64=/uploads/...;256=/uploads/..."
+public final class PhotoVariants {
+
+    private PhotoVariants() {}
+
+    public static String encode(Map<Integer, String> variants) {
+        if (variants == null || variants.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<Integer, String> variant : new TreeMap<>(variants).entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append(';');
+            }
+            encoded.append(variant.getKey()).append('=').append(variant.getValue());
+        }
+        return encoded.toString();
+    }
+
+    public static SortedMap<Integer, String> decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return Collections.emptySortedMap();
+        }
+        SortedMap<Integer, String> variants = new TreeMap<>();
+        for (String part : encoded.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator > 0) {
+                try {
+                    variants.put(Integer.parseInt(part.substring(0, separator)), part.substring(separator + 1));
+                } catch (NumberFormatException e) {
+                    // Skip malformed entries rather than failing the whole profile
+                }
+            }
+        }
+        return Collections.unmodifiableSortedMap(variants);
+    }
+
+    // Smallest variant at least as large as requested; the original until a large enough one exists
+    public static String select(String original, Map<Integer, String> variants, int size) {
+        if (variants == null || variants.isEmpty()) {
+            return original;
+        }
+        SortedMap<Integer, String> bySize = variants instanceof SortedMap<Integer, String> sorted
+                ? sorted : new TreeMap<>(variants);
+        SortedMap<Integer, String> largeEnough = bySize.tailMap(size);
+        return largeEnough.isEmpty() ? original : largeEnough.get(largeEnough.firstKey());
+    }
+}
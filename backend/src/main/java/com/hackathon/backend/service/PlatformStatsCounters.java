@@ -0,0 +1,104 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.PlatformStatsDTO;
+import com.hackathon.backend.repository.ConnectionRequestRepository;
+import com.hackathon.backend.repository.SkillRepository;
+import com.hackathon.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory platform counters behind the public /api/stats endpoint.
+// Write paths bump them after commit; a periodic reconcile against the database corrects any drift.
+@Component
+public class PlatformStatsCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(PlatformStatsCounters.class);
+
+    // Reconcile replaces each value with a single set, so readers never see it drop to 0
+    private final AtomicLong activeMembers = new AtomicLong();
+    private final AtomicLong successfulMatches = new AtomicLong();
+    private final AtomicLong totalRequests = new AtomicLong();
+
+    // skill id -> number of users offering it; the distinct skill count is the map size
+    private volatile ConcurrentHashMap<Long, Integer> offeringUsersBySkill = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    public PlatformStatsDTO snapshot() {
+        return new PlatformStatsDTO(
+                activeMembers.get(),
+                successfulMatches.get(),
+                offeringUsersBySkill.mappingCount(),
+                totalRequests.get()
+        );
+    }
+
+    public void memberActivated() {
+        AfterCommit.run(activeMembers::incrementAndGet);
+    }
+
+    public void requestSent() {
+        AfterCommit.run(totalRequests::incrementAndGet);
+    }
+
+    public void requestsAccepted(int count) {
+        AfterCommit.run(() -> successfulMatches.addAndGet(count));
+    }
+
+    // Called with the skill ids one user stopped and started offering
+    public void offeredSkillsChanged(Collection<Long> removedSkillIds, Collection<Long> addedSkillIds) {
+        if (removedSkillIds.isEmpty() && addedSkillIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            ConcurrentHashMap<Long, Integer> offering = offeringUsersBySkill;
+            for (Long skillId : removedSkillIds) {
+                offering.computeIfPresent(skillId, (id, users) -> users <= 1 ? null : users - 1);
+            }
+            for (Long skillId : addedSkillIds) {
+                offering.merge(skillId, 1, Integer::sum);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            ConcurrentHashMap<Long, Integer> offering = new ConcurrentHashMap<>();
+            for (Object[] row : skillRepository.countOfferingUsersBySkill()) {
+                offering.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+
+            // Each value is set right after its own count, so only increments landing in that
+            // short gap are lost until the next reconcile
+            set(activeMembers, userRepository.countActiveUsers());
+            set(successfulMatches, connectionRequestRepository.countSuccessfulConnections());
+            set(totalRequests, connectionRequestRepository.count());
+            offeringUsersBySkill = offering;
+        } catch (Exception e) {
+            log.warn("Platform stats reconcile failed, keeping in-memory counters: {}", e.getMessage());
+        }
+    }
+
+    private static void set(AtomicLong counter, Long value) {
+        counter.set(value != null ? value : 0L);
+    }
+}
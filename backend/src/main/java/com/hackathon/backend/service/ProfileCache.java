@@ -0,0 +1,69 @@
+package com.hackathon.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hackathon.backend.dto.UserProfileDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Read-through cache of mapped profiles keyed by user id.
+// Concurrent misses for the same id share a single load; writes invalidate after commit.
+@Component
+public class ProfileCache {
+
+    @Value("${app.cache.profiles.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.profiles.ttl:10m}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Exposed as cache.gets / cache.puts / cache.evictions{cache=profiles} on /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profiles");
+    }
+
+    // Returns null without caching anything when the loader finds no user
+    public Entry get(Long userId, Function<Long, Entry> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    public static final class Entry {
+        private final UserProfileDTO profile;
+        private final boolean publiclyVisible;
+        private final boolean active;
+
+        public Entry(UserProfileDTO profile, boolean publiclyVisible, boolean active) {
+            this.profile = profile;
+            this.publiclyVisible = publiclyVisible;
+            this.active = active;
+        }
+
+        public UserProfileDTO getProfile() { return profile; }
+
+        public boolean isPubliclyVisible() { return publiclyVisible; }
+
+        public boolean isActive() { return active; }
+    }
+}
@@ -0,0 +1,291 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.ProfileCursor;
+import com.hackathon.backend.entity.Availability;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.repository.UserSkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory inverted index over profile names and skill names.
+// Every suffix of a name or skill is stored as a term, so a prefix scan over the sorted
+// term map matches like LIKE '%search%' did, but only touches postings of matching terms.
+@Component
+public class ProfileSearchIndex {
+
+    // Terms are truncated to this length; longer queries are verified against the profile itself
+    private static final int MAX_TERM_LENGTH = 32;
+
+    private static final Comparator<IndexedProfile> BY_RATING =
+            Comparator.comparingDouble((IndexedProfile p) -> p.averageRating).reversed()
+                    .thenComparingLong(p -> p.id);
+
+    private final ConcurrentNavigableMap<String, Set<Long>> nameTerms = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> skillTerms = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedProfile> profiles = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, List<String>> skillsByUser = new HashMap<>();
+        for (Object[] row : userSkillRepository.findAllUserSkillIds()) {
+            String skillName = skillDictionary.nameOf((Long) row[1]);
+            if (skillName != null) {
+                skillsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(skillName);
+            }
+        }
+
+        nameTerms.clear();
+        skillTerms.clear();
+        profiles.clear();
+
+        for (Object[] row : userRepository.findAllForSearchIndex()) {
+            Long id = (Long) row[0];
+            IndexedProfile profile = new IndexedProfile(
+                    id,
+                    (String) row[1],
+                    (String) row[2],
+                    row[3] != null ? (Double) row[3] : 0.0,
+                    (Availability) row[4],
+                    Boolean.TRUE.equals(row[5]) && Boolean.TRUE.equals(row[6]) && Boolean.TRUE.equals(row[7]),
+                    skillsByUser.getOrDefault(id, List.of())
+            );
+            put(profile);
+        }
+    }
+
+    // Re-indexes name, rating, availability and visibility; skills are kept as they are
+    public void indexUser(User user) {
+        Long id = user.getId();
+        String firstName = user.getFirstName();
+        String lastName = user.getLastName();
+        double averageRating = user.getAverageRating() != null ? user.getAverageRating() : 0.0;
+        Availability availability = user.getAvailability();
+        boolean visible = Boolean.TRUE.equals(user.getIsProfilePublic())
+                && Boolean.TRUE.equals(user.getActive())
+                && Boolean.TRUE.equals(user.getEmailVerified());
+
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                IndexedProfile current = profiles.get(id);
+                List<String> skills = current != null ? current.skills : List.of();
+                put(new IndexedProfile(id, firstName, lastName, averageRating, availability, visible, skills));
+            }
+        });
+    }
+
+    public void indexSkills(Long userId, Collection<String> skillNames) {
+        List<String> skills = List.copyOf(skillNames);
+
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                IndexedProfile current = profiles.get(userId);
+                if (current != null) {
+                    put(current.withSkills(skills));
+                }
+            }
+        });
+    }
+
+    public void remove(Long userId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                IndexedProfile current = profiles.remove(userId);
+                if (current != null) {
+                    unpost(current);
+                }
+            }
+        });
+    }
+
+    // Ids of visible profiles matching the search, best rated first
+    public List<Long> search(String search, Availability availability) {
+        return ids(matches(search, availability), 0, Integer.MAX_VALUE);
+    }
+
+    // Up to limit ids that come strictly after the cursor in the same ordering
+    public List<Long> searchAfter(String search, Availability availability, ProfileCursor after, int limit) {
+        List<IndexedProfile> hits = matches(search, availability);
+        int from = 0;
+        if (after != null) {
+            IndexedProfile probe = new IndexedProfile(after.getId(), null, null, after.getAverageRating(),
+                    null, false, List.of());
+            int position = Collections.binarySearch(hits, probe, BY_RATING);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return ids(hits, from, limit);
+    }
+
+    public int count(String search, Availability availability) {
+        return matches(search, availability).size();
+    }
+
+    private List<IndexedProfile> matches(String search, Availability availability) {
+        String query = normalize(search);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        String key = truncate(query);
+
+        Set<Long> candidates = new HashSet<>();
+        collect(nameTerms, key, candidates);
+        collect(skillTerms, key, candidates);
+
+        List<IndexedProfile> hits = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            IndexedProfile profile = profiles.get(id);
+            if (profile == null || !profile.visible) {
+                continue;
+            }
+            if (availability != null && profile.availability != availability) {
+                continue;
+            }
+            if (query.length() > MAX_TERM_LENGTH && !profile.contains(query)) {
+                continue;
+            }
+            hits.add(profile);
+        }
+        hits.sort(BY_RATING);
+        return hits;
+    }
+
+    private static List<Long> ids(List<IndexedProfile> hits, int from, int limit) {
+        int to = (int) Math.min(hits.size(), (long) from + limit);
+        List<Long> ids = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            ids.add(hits.get(i).id);
+        }
+        return ids;
+    }
+
+    private void put(IndexedProfile profile) {
+        IndexedProfile previous = profiles.put(profile.id, profile);
+        if (previous != null) {
+            unpost(previous);
+        }
+        post(nameTerms, profile.nameTerms, profile.id);
+        post(skillTerms, profile.skillTerms, profile.id);
+    }
+
+    private void unpost(IndexedProfile profile) {
+        unpost(nameTerms, profile.nameTerms, profile.id);
+        unpost(skillTerms, profile.skillTerms, profile.id);
+    }
+
+    private static void post(Map<String, Set<Long>> index, Set<String> terms, Long id) {
+        for (String term : terms) {
+            index.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Long>> index, Set<String> terms, Long id) {
+        for (String term : terms) {
+            index.computeIfPresent(term, (t, postings) -> {
+                postings.remove(id);
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+    }
+
+    private static void collect(ConcurrentNavigableMap<String, Set<Long>> index, String prefix, Set<Long> into) {
+        for (Set<Long> postings : index.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            into.addAll(postings);
+        }
+    }
+
+    private static Set<String> suffixTerms(Collection<String> values) {
+        Set<String> terms = new HashSet<>();
+        for (String value : values) {
+            String normalized = normalize(value);
+            for (int i = 0; i < normalized.length(); i++) {
+                terms.add(truncate(normalized.substring(i)));
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String term) {
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+
+    private static final class IndexedProfile {
+        private final Long id;
+        private final String firstName;
+        private final String lastName;
+        private final double averageRating;
+        private final Availability availability;
+        private final boolean visible;
+        private final List<String> skills;
+        private final Set<String> nameTerms;
+        private final Set<String> skillTerms;
+
+        private IndexedProfile(Long id, String firstName, String lastName, double averageRating,
+                               Availability availability, boolean visible, List<String> skills) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.averageRating = averageRating;
+            this.availability = availability;
+            this.visible = visible;
+            this.skills = skills;
+            this.nameTerms = suffixTerms(names(firstName, lastName));
+            this.skillTerms = suffixTerms(skills);
+        }
+
+        private IndexedProfile withSkills(List<String> skills) {
+            return new IndexedProfile(id, firstName, lastName, averageRating, availability, visible, skills);
+        }
+
+        private boolean contains(String query) {
+            if (normalize(firstName).contains(query) || normalize(lastName).contains(query)) {
+                return true;
+            }
+            for (String skill : skills) {
+                if (normalize(skill).contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static List<String> names(String firstName, String lastName) {
+            List<String> names = new ArrayList<>(2);
+            if (firstName != null) {
+                names.add(firstName);
+            }
+            if (lastName != null) {
+                names.add(lastName);
+            }
+            return names;
+        }
+    }
+}
@@ -3,22 +3,33 @@ package com.hackathon.backend.service;
 import com.hackathon.backend.dto.*;
 import com.hackathon.backend.entity.*;
 import com.hackathon.backend.repository.*;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +43,38 @@ public class ProfileService {
     private UserSkillRepository userSkillRepository;
 
     @Autowired
-    private SkillRepository skillRepository;
+    private SkillDictionary skillDictionary;
 
     @Autowired
     private ConnectionRequestRepository connectionRequestRepository;
 
-    private static final String UPLOAD_DIR = "uploads/profile-photos/";
+    @Autowired
+    private ProfileSearchIndex searchIndex;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private PlatformStatsCounters platformStats;
+
+    @Autowired
+    private ThumbnailPipeline thumbnailPipeline;
+
+    @Autowired
+    private PhotoStorage photoStorage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.uploads.max-photo-size:5MB}")
+    private DataSize maxPhotoSize;
+
+    private TransactionTemplate skillUpdate;
+
+    @PostConstruct
+    void init() {
+        skillUpdate = new TransactionTemplate(transactionManager);
+    }
 
     @Transactional(readOnly = true)
     public ProfileSearchResponse searchProfiles(String search, Availability availability, int page, int size) {
@@ -45,13 +82,16 @@ public class ProfileService {
             Pageable pageable = PageRequest.of(page, size, Sort.by("averageRating").descending());
 
             Page<User> userPage;
-            if ((search == null || search.trim().isEmpty()) && availability == null) {
+            if (search != null && !search.trim().isEmpty()) {
+                userPage = searchIndexedProfiles(search, availability, pageable);
+            } else if (availability == null) {
                 userPage = userRepository.findPublicProfiles(pageable);
             } else {
                 userPage = userRepository.searchProfiles(search, availability, pageable);
             }
 
-            Page<UserProfileDTO> profilePage = userPage.map(this::convertToProfileDTO);
+            Page<UserProfileDTO> profilePage = new PageImpl<>(
+                    convertToProfileDTOs(userPage.getContent()), userPage.getPageable(), userPage.getTotalElements());
             return new ProfileSearchResponse(profilePage);
         } catch (Exception e) {
             System.err.println("Error searching profiles: " + e.getMessage());
@@ -60,13 +100,72 @@ public class ProfileService {
         }
     }
 
+    private Page<User> searchIndexedProfiles(String search, Availability availability, Pageable pageable) {
+        List<Long> hits = searchIndex.search(search, availability);
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> pageIds = hits.subList(from, to);
+
+        return new PageImpl<>(loadUsersInOrder(pageIds), pageable, hits.size());
+    }
+
+    @Transactional(readOnly = true)
+    public ProfileCursorResponse scrollProfiles(String search, Availability availability, ProfileCursor after,
+                                                int size, boolean includeTotal) {
+        try {
+            // Fetch one extra row to learn whether another page exists
+            List<User> users;
+            Long total = null;
+            if (search != null && !search.trim().isEmpty()) {
+                users = loadUsersInOrder(searchIndex.searchAfter(search, availability, after, size + 1));
+                if (includeTotal) {
+                    total = (long) searchIndex.count(search, availability);
+                }
+            } else {
+                Pageable limit = PageRequest.of(0, size + 1);
+                users = after == null
+                        ? userRepository.findPublicProfilesFirst(availability, limit)
+                        : userRepository.findPublicProfilesAfter(availability, after.getAverageRating(), after.getId(), limit);
+                if (includeTotal) {
+                    total = userRepository.countPublicProfiles(availability);
+                }
+            }
+
+            String nextCursor = null;
+            if (users.size() > size) {
+                users = users.subList(0, size);
+                User last = users.get(size - 1);
+                nextCursor = new ProfileCursor(
+                        last.getAverageRating() != null ? last.getAverageRating() : 0.0, last.getId()).encode();
+            }
+
+            return new ProfileCursorResponse(convertToProfileDTOs(users), nextCursor, size, total);
+        } catch (Exception e) {
+            System.err.println("Error scrolling profiles: " + e.getMessage());
+            return new ProfileCursorResponse(List.of(), null, size, includeTotal ? 0L : null);
+        }
+    }
+
+    // Loads users by id, keeping the order of the given ids
+    private List<User> loadUsersInOrder(List<Long> ids) {
+        Map<Long, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = usersById.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
     @Transactional(readOnly = true)
     public UserProfileDTO getPublicProfile(Long userId) {
         try {
-            return userRepository.findById(userId)
-                    .filter(user -> user.getIsProfilePublic() && user.getActive() && user.getEmailVerified())
-                    .map(this::convertToProfileDTO)
-                    .orElse(null);
+            ProfileCache.Entry entry = profileCache.get(userId, this::loadProfileEntry);
+            return entry != null && entry.isPubliclyVisible() ? entry.getProfile() : null;
         } catch (Exception e) {
             System.err.println("Error getting public profile: " + e.getMessage());
             return null;
@@ -76,8 +175,8 @@ public class ProfileService {
     @Transactional(readOnly = true)
     public UserProfileDTO getCurrentUserProfile(String email) {
         try {
-            return userRepository.findByEmailAndActiveTrue(email)
-                    .map(this::convertToProfileDTO)
+            return userRepository.findActiveIdByEmail(email)
+                    .map(this::getCurrentUserProfile)
                     .orElse(null);
         } catch (Exception e) {
             System.err.println("Error getting current user profile: " + e.getMessage());
@@ -86,25 +185,31 @@ public class ProfileService {
     }
 
     @Transactional(readOnly = true)
-    public PlatformStatsDTO getPlatformStats() {
+    public UserProfileDTO getCurrentUserProfile(Long userId) {
         try {
-            Long activeMembers = userRepository.countActiveUsers();
-            Long successfulMatches = connectionRequestRepository.countSuccessfulConnections();
-            Long totalSkillsOffered = skillRepository.countOfferedSkills();
-            Long totalRequests = connectionRequestRepository.count();
-
-            return new PlatformStatsDTO(
-                    activeMembers != null ? activeMembers : 0L,
-                    successfulMatches != null ? successfulMatches : 0L,
-                    totalSkillsOffered != null ? totalSkillsOffered : 0L,
-                    totalRequests != null ? totalRequests : 0L
-            );
+            ProfileCache.Entry entry = profileCache.get(userId, this::loadProfileEntry);
+            return entry != null && entry.isActive() ? entry.getProfile() : null;
         } catch (Exception e) {
-            System.err.println("Error getting platform stats: " + e.getMessage());
-            return new PlatformStatsDTO(0L, 0L, 0L, 0L);
+            System.err.println("Error getting current user profile: " + e.getMessage());
+            return null;
         }
     }
 
+    private ProfileCache.Entry loadProfileEntry(Long userId) {
+        return userRepository.findById(userId)
+                .map(user -> new ProfileCache.Entry(
+                        convertToProfileDTO(user),
+                        user.getIsProfilePublic() && user.getActive() && user.getEmailVerified(),
+                        user.getActive()))
+                .orElse(null);
+    }
+
+    // Served from in-memory counters, so no transaction or connection is needed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PlatformStatsDTO getPlatformStats() {
+        return platformStats.snapshot();
+    }
+
     public ApiResponse updateUserProfile(String email, UpdateProfileRequest request) {
         try {
             User user = userRepository.findByEmailAndActiveTrue(email)
@@ -129,8 +234,13 @@ public class ProfileService {
             if (request.getAvailability() != null) {
                 user.setAvailability(request.getAvailability());
             }
+            if (request.getReceiveNotifications() != null) {
+                user.setReceiveNotifications(request.getReceiveNotifications());
+            }
 
             userRepository.save(user);
+            searchIndex.indexUser(user);
+            profileCache.invalidate(user.getId());
             return new ApiResponse(true, "Profile updated successfully");
 
         } catch (Exception e) {
@@ -138,79 +248,169 @@ public class ProfileService {
         }
     }
 
+    // Unknown skill names are created before the transaction opens. The dictionary inserts them in
+    // transactions of their own, which inside ours would need a second pooled connection each.
+    // The user is checked first so a request for an unknown or inactive user creates nothing.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse updateUserSkills(String email, UpdateSkillsRequest request) {
         try {
-            User user = userRepository.findByEmailAndActiveTrue(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Remove existing skills
-            userSkillRepository.deleteByUserAndType(user, UserSkill.SkillType.OFFERED);
-            userSkillRepository.deleteByUserAndType(user, UserSkill.SkillType.WANTED);
-
-            // Add offered skills
-            for (String skillName : request.getSkillsOffered()) {
-                Skill skill = getOrCreateSkill(skillName);
-                UserSkill userSkill = new UserSkill(user, skill, UserSkill.SkillType.OFFERED, 3);
-                userSkillRepository.save(userSkill);
+            if (userRepository.findActiveIdByEmail(email).isEmpty()) {
+                throw new RuntimeException("User not found");
             }
 
-            // Add wanted skills
-            for (String skillName : request.getSkillsWanted()) {
-                Skill skill = getOrCreateSkill(skillName);
-                UserSkill userSkill = new UserSkill(user, skill, UserSkill.SkillType.WANTED, 1);
-                userSkillRepository.save(userSkill);
+            // Desired state, keyed by type and normalized name so duplicates collapse
+            Map<String, String> desiredOffered = normalizeSkillNames(request.getSkillsOffered());
+            Map<String, String> desiredWanted = normalizeSkillNames(request.getSkillsWanted());
+            Map<String, Skill> skills = new HashMap<>();
+            for (Map<String, String> desired : List.of(desiredOffered, desiredWanted)) {
+                desired.forEach((key, name) -> skills.computeIfAbsent(key, k -> skillDictionary.resolve(name)));
             }
 
-            return new ApiResponse(true, "Skills updated successfully");
+            return skillUpdate.execute(status -> {
+                User user = userRepository.findByEmailAndActiveTrue(email)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+
+                // Diff against the current rows: keep matches, delete the rest
+                List<UserSkill> current = userSkillRepository.findByUser(user);
+                List<UserSkill> kept = new ArrayList<>();
+                List<Long> removedIds = new ArrayList<>();
+                Set<Long> previouslyOffered = new HashSet<>();
+                Set<String> keptKeys = new HashSet<>();
+                for (UserSkill userSkill : current) {
+                    Long skillId = userSkill.getSkill().getId();
+                    if (userSkill.getType() == UserSkill.SkillType.OFFERED) {
+                        previouslyOffered.add(skillId);
+                    }
+                    String skillName = skillDictionary.nameOf(skillId);
+                    String name = skillName != null ? SkillDictionary.normalize(skillName) : null;
+                    Map<String, String> desired = userSkill.getType() == UserSkill.SkillType.OFFERED ? desiredOffered : desiredWanted;
+                    if (desired.containsKey(name) && keptKeys.add(userSkill.getType() + ":" + name)) {
+                        kept.add(userSkill);
+                    } else {
+                        removedIds.add(userSkill.getId());
+                    }
+                }
+
+                // New rows use the skills resolved up front
+                List<UserSkill> added = new ArrayList<>();
+                desiredOffered.forEach((key, name) -> {
+                    if (!keptKeys.contains(UserSkill.SkillType.OFFERED + ":" + key)) {
+                        added.add(new UserSkill(user, skills.get(key), UserSkill.SkillType.OFFERED, 3));
+                    }
+                });
+                desiredWanted.forEach((key, name) -> {
+                    if (!keptKeys.contains(UserSkill.SkillType.WANTED + ":" + key)) {
+                        added.add(new UserSkill(user, skills.get(key), UserSkill.SkillType.WANTED, 1));
+                    }
+                });
+
+                // One DELETE ... IN for removed rows; inserts go out as a JDBC batch
+                if (!removedIds.isEmpty()) {
+                    userSkillRepository.deleteAllByIdInBatch(removedIds);
+                }
+                if (!added.isEmpty()) {
+                    userSkillRepository.saveAll(added);
+                }
+
+                List<String> indexedSkills = new ArrayList<>();
+                Set<Long> nowOffered = new HashSet<>();
+                for (List<UserSkill> rows : List.of(kept, added)) {
+                    for (UserSkill userSkill : rows) {
+                        Long skillId = userSkill.getSkill().getId();
+                        // Skipped like in convertToProfileDTOs should the skill row have vanished
+                        String skillName = skillDictionary.nameOf(skillId);
+                        if (skillName != null) {
+                            indexedSkills.add(skillName);
+                        }
+                        if (userSkill.getType() == UserSkill.SkillType.OFFERED) {
+                            nowOffered.add(skillId);
+                        }
+                    }
+                }
+
+                searchIndex.indexSkills(user.getId(), indexedSkills);
+                profileCache.invalidate(user.getId());
+
+                Set<Long> stoppedOffering = new HashSet<>(previouslyOffered);
+                stoppedOffering.removeAll(nowOffered);
+                Set<Long> startedOffering = new HashSet<>(nowOffered);
+                startedOffering.removeAll(previouslyOffered);
+                platformStats.offeredSkillsChanged(stoppedOffering, startedOffering);
+
+                return new ApiResponse(true, "Skills updated successfully");
+            });
 
         } catch (Exception e) {
             return new ApiResponse(false, "Failed to update skills: " + e.getMessage());
         }
     }
 
-    public ApiResponse updateProfilePhoto(String email, MultipartFile photo) {
-        try {
-            User user = userRepository.findByEmailAndActiveTrue(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+    // normalized name -> name as submitted, in request order, blanks dropped
+    private Map<String, String> normalizeSkillNames(List<String> skillNames) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String skillName : skillNames) {
+            if (skillName != null && !skillName.trim().isEmpty()) {
+                names.putIfAbsent(SkillDictionary.normalize(skillName), skillName.trim());
+            }
+        }
+        return names;
+    }
 
+    // Both upload paths run without a transaction so no connection is held while the body arrives.
+    // A rejected photo is thrown rather than returned so the controller can tell 413 from 400.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse updateProfilePhoto(String email, MultipartFile photo) throws PhotoStorage.RejectedPhotoException {
+        try {
             // Validate file
             if (photo.isEmpty()) {
-                return new ApiResponse(false, "Please select a file");
+                throw new PhotoStorage.RejectedPhotoException("Please select a file", false);
             }
 
-            // Check file size (max 5MB)
-            if (photo.getSize() > 5 * 1024 * 1024) {
-                return new ApiResponse(false, "File size must be less than 5MB");
+            // Check file size (the multipart limits normally reject larger uploads earlier)
+            if (photo.getSize() > maxPhotoSize.toBytes()) {
+                throw new PhotoStorage.RejectedPhotoException(PhotoStorage.sizeLimitMessage(maxPhotoSize.toBytes()), true);
             }
 
-            // Check file type
-            String contentType = photo.getContentType();
-            if (contentType == null || !contentType.startsWith("image/")) {
-                return new ApiResponse(false, "Please upload a valid image file");
+            try (InputStream content = photo.getInputStream()) {
+                return updateProfilePhoto(email, content);
             }
+        } catch (PhotoStorage.RejectedPhotoException e) {
+            throw e;
+        } catch (IOException e) {
+            return new ApiResponse(false, "Failed to upload file: " + e.getMessage());
+        }
+    }
 
-            // Generate unique filename
-            String originalFilename = photo.getOriginalFilename();
-            String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String filename = UUID.randomUUID().toString() + extension;
+    // Takes the raw image bytes; the type is sniffed from the content and the size cap is
+    // enforced while reading, so nothing larger than the cap is ever buffered or written
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse updateProfilePhoto(String email, InputStream content) throws PhotoStorage.RejectedPhotoException {
+        try {
+            User user = userRepository.findByEmailAndActiveTrue(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Save file under its content hash; identical uploads share one file
+            PhotoStorage.StoredPhoto stored = photoStorage.store(content, maxPhotoSize.toBytes());
+            String photoUrl = stored.getUrl();
+            Path filePath = stored.getPath();
+            if (photoUrl.equals(user.getProfilePhoto())) {
+                return new ApiResponse(true, "Profile photo updated successfully");
             }
 
-            // Save file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(photo.getInputStream(), filePath);
+            // Update user profile photo URL; the previous file is removed by HousekeepingJobs once unreferenced
+            if (userRepository.updateProfilePhoto(user.getId(), photoUrl) == 0) {
+                return new ApiResponse(false, "User not found");
+            }
+            profileCache.invalidate(user.getId());
 
-            // Update user profile photo URL
-            String photoUrl = "/uploads/profile-photos/" + filename;
-            user.setProfilePhoto(photoUrl);
-            userRepository.save(user);
+            // Resized variants are written in the background; profiles show the original meanwhile
+            Long userId = user.getId();
+            AfterCommit.run(() -> thumbnailPipeline.submit(userId, photoUrl, filePath));
 
             return new ApiResponse(true, "Profile photo updated successfully");
 
+        } catch (PhotoStorage.RejectedPhotoException e) {
+            throw e;
         } catch (IOException e) {
             return new ApiResponse(false, "Failed to upload file: " + e.getMessage());
         } catch (Exception e) {
@@ -222,7 +422,49 @@ public class ProfileService {
         if (user == null) {
             return null;
         }
+        return convertToProfileDTOs(List.of(user)).get(0);
+    }
+
+    // Maps a page of users with a single skills query instead of two per user
+    private List<UserProfileDTO> convertToProfileDTOs(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<String>> offeredByUser = new HashMap<>();
+        Map<Long, List<String>> wantedByUser = new HashMap<>();
+        boolean skillsLoaded = true;
 
+        // Load and group skills with error handling
+        try {
+            List<Long> userIds = users.stream().map(User::getId).collect(Collectors.toList());
+            for (Object[] row : userSkillRepository.findSkillIdsByUserIds(userIds)) {
+                Long userId = (Long) row[0];
+                UserSkill.SkillType type = (UserSkill.SkillType) row[1];
+                String skillName = skillDictionary.nameOf((Long) row[2]);
+                if (skillName == null || skillName.isEmpty()) {
+                    continue;
+                }
+                Map<Long, List<String>> target = type == UserSkill.SkillType.OFFERED ? offeredByUser : wantedByUser;
+                target.computeIfAbsent(userId, id -> new ArrayList<>()).add(skillName);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading skills for users " + users.stream().map(User::getId).collect(Collectors.toList()) + ": " + e.getMessage());
+            skillsLoaded = false;
+        }
+
+        List<UserProfileDTO> dtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            UserProfileDTO dto = toBaseProfileDTO(user);
+            // Fall back to empty lists when skills could not be loaded
+            dto.setSkillsOffered(skillsLoaded ? offeredByUser.getOrDefault(user.getId(), List.of()) : List.of());
+            dto.setSkillsWanted(skillsLoaded ? wantedByUser.getOrDefault(user.getId(), List.of()) : List.of());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private UserProfileDTO toBaseProfileDTO(User user) {
         UserProfileDTO dto = new UserProfileDTO();
 
         // Basic user information
@@ -230,6 +472,7 @@ public class ProfileService {
         dto.setFirstName(user.getFirstName() != null ? user.getFirstName() : "");
         dto.setLastName(user.getLastName() != null ? user.getLastName() : "");
         dto.setProfilePhoto(user.getProfilePhoto());
+        dto.setProfilePhotoVariants(PhotoVariants.decode(user.getProfilePhotoVariants()));
         dto.setLocation(user.getLocation());
         dto.setBio(user.getBio());
 
@@ -241,43 +484,6 @@ public class ProfileService {
         // Availability
         dto.setAvailability(user.getAvailability() != null ? user.getAvailability() : Availability.FLEXIBLE);
 
-        // Load and set skills with error handling
-        try {
-            // Get offered skills
-            List<String> skillsOffered = userSkillRepository
-                    .findByUserAndType(user, UserSkill.SkillType.OFFERED)
-                    .stream()
-                    .map(us -> us.getSkill() != null ? us.getSkill().getName() : null)
-                    .filter(skillName -> skillName != null && !skillName.isEmpty())
-                    .collect(Collectors.toList());
-            dto.setSkillsOffered(skillsOffered);
-
-            // Get wanted skills
-            List<String> skillsWanted = userSkillRepository
-                    .findByUserAndType(user, UserSkill.SkillType.WANTED)
-                    .stream()
-                    .map(us -> us.getSkill() != null ? us.getSkill().getName() : null)
-                    .filter(skillName -> skillName != null && !skillName.isEmpty())
-                    .collect(Collectors.toList());
-            dto.setSkillsWanted(skillsWanted);
-
-        } catch (Exception e) {
-            System.err.println("Error loading skills for user " + user.getId() + ": " + e.getMessage());
-            // Set empty lists as fallback
-            dto.setSkillsOffered(List.of());
-            dto.setSkillsWanted(List.of());
-        }
-
         return dto;
     }
-
-    private Skill getOrCreateSkill(String skillName) {
-        Optional<Skill> existingSkill = skillRepository.findByNameIgnoreCase(skillName);
-        if (existingSkill.isPresent()) {
-            return existingSkill.get();
-        } else {
-            Skill newSkill = new Skill(skillName, "Technology");
-            return skillRepository.save(newSkill);
-        }
-    }
 }
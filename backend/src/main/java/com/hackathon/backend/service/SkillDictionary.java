@@ -0,0 +1,110 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.Skill;
+import com.hackathon.backend.repository.SkillRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Case-insensitive name -> Skill dictionary shared by search, profile mapping and skill updates.
+// Loaded once at startup and grown lock-free; the returned Skill instances are detached and must not be modified.
+@Component
+public class SkillDictionary {
+
+    private static final String DEFAULT_CATEGORY = "Technology";
+
+    private final Map<String, Skill> byName = new ConcurrentHashMap<>();
+    private final Map<Long, Skill> byId = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void load() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (Skill skill : skillRepository.findAll()) {
+            register(skill);
+        }
+    }
+
+    // Returns the existing skill for the name, creating it on first use. Creating runs in a
+    // transaction of its own, so callers resolve names before opening theirs.
+    public Skill resolve(String name) {
+        String key = normalize(name);
+        Skill skill = byName.get(key);
+        if (skill != null) {
+            return skill;
+        }
+        return register(insertOrFetch(name.trim()));
+    }
+
+    public String nameOf(Long skillId) {
+        Skill skill = byId.get(skillId);
+        if (skill == null) {
+            // Created by another instance since startup
+            skill = skillRepository.findById(skillId).map(this::register).orElse(null);
+        }
+        return skill != null ? skill.getName() : null;
+    }
+
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // First registration wins, so racing callers all end up with the same instance
+    private Skill register(Skill skill) {
+        Skill winner = byName.putIfAbsent(normalize(skill.getName()), skill);
+        if (winner == null) {
+            winner = skill;
+        }
+        byId.putIfAbsent(winner.getId(), winner);
+        byId.putIfAbsent(skill.getId(), skill);
+        return winner;
+    }
+
+    // Insert in its own transaction so a unique-key collision with a concurrent insert
+    // does not roll back the caller; the loser simply reads the winner's row
+    private Skill insertOrFetch(String name) {
+        Skill existing = requiresNew.execute(status -> skillRepository.findByNameIgnoreCase(name).orElse(null));
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            Skill created = requiresNew.execute(status -> skillRepository.saveAndFlush(new Skill(name, DEFAULT_CATEGORY)));
+            evictSkillQueries();
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            // Created by another instance: our cached lookup still says it does not exist
+            evictSkillQueries();
+            return requiresNew.execute(status -> skillRepository.findByNameIgnoreCase(name))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    // The query cache is local to this instance, so a miss cached here is not invalidated by
+    // another instance's insert; dropping the region makes the next lookup read the database
+    private void evictSkillQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(SkillRepository.QUERY_CACHE_REGION);
+    }
+}
@@ -0,0 +1,194 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Writes resized copies of uploaded profile photos on a small background pool.
+// Each upload is decoded once and scaled down step by step to every configured size;
+// until the variants are recorded on the user, profiles keep pointing at the original.
+// Variants live beside their content-addressed original and may be shared between users,
+// so files are only ever replaced atomically and unused ones are left to PhotoStorage.sweep.
+@Component
+public class ThumbnailPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailPipeline.class);
+
+    @Value("${app.photos.thumbnails.sizes:64,256,512}")
+    private List<Integer> sizes;
+
+    @Value("${app.photos.thumbnails.threads:2}")
+    private int threads;
+
+    @Value("${app.photos.thumbnails.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer processingTimer;
+    private Counter failedCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        sizes = sizes.stream().distinct().sorted().toList();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("thumbnails-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.queued{name=thumbnails} is the number of photos waiting to be processed
+        new ExecutorServiceMetrics(executor, "thumbnails", List.of()).bindTo(meterRegistry);
+
+        processingTimer = Timer.builder("photo.thumbnails.duration")
+                .description("Time to decode one photo and write all of its variants")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        failedCounter = meterRegistry.counter("photo.thumbnails.failed");
+        rejectedCounter = meterRegistry.counter("photo.thumbnails.rejected");
+    }
+
+    // The original stays in use when the queue is full, so a rejected photo just has no variants
+    public void submit(Long userId, String photoUrl, Path original) {
+        try {
+            executor.execute(() -> process(userId, photoUrl, original));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Thumbnail queue full, skipping variants for user {}", userId);
+        }
+    }
+
+    void process(Long userId, String photoUrl, Path original) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            BufferedImage image = ImageIO.read(original.toFile());
+            if (image == null) {
+                failedCounter.increment();
+                log.warn("Could not decode profile photo {}", original);
+                return;
+            }
+
+            boolean alpha = image.getColorModel().hasAlpha();
+            String format = alpha ? "png" : "jpg";
+            String filename = original.getFileName().toString();
+            String baseName = filename.contains(".") ? filename.substring(0, filename.lastIndexOf('.')) : filename;
+            String urlPrefix = photoUrl.substring(0, photoUrl.lastIndexOf('/') + 1);
+
+            Map<Integer, String> variants = new LinkedHashMap<>();
+            BufferedImage source = image;
+            // Largest first, so each size is scaled from the previous one instead of the full image
+            for (int i = sizes.size() - 1; i >= 0; i--) {
+                int size = sizes.get(i);
+                if (Math.max(source.getWidth(), source.getHeight()) <= size) {
+                    continue;
+                }
+                source = scale(source, size, alpha);
+                String variantName = baseName + "-" + size + "." + format;
+                write(source, format, original.resolveSibling(variantName));
+                variants.put(size, urlPrefix + variantName);
+            }
+
+            if (variants.isEmpty()) {
+                return;
+            }
+            // Only applies while the user still has this photo; a newer upload wins
+            if (userRepository.updatePhotoVariants(userId, photoUrl, PhotoVariants.encode(variants)) == 1) {
+                profileCache.invalidate(userId);
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Failed to create variants of {}: {}", original, e.getMessage());
+        } finally {
+            sample.stop(processingTimer);
+        }
+    }
+
+    // Halves until within 2x of the target, then one final bilinear step, which avoids the
+    // aliasing of a single large downscale without the cost of area averaging
+    private static BufferedImage scale(BufferedImage image, int maxDimension, boolean alpha) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = (double) maxDimension / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            if (width < targetWidth * 2 || height < targetHeight * 2) {
+                width = targetWidth;
+                height = targetHeight;
+            }
+            current = resize(current, width, height, alpha);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height, boolean alpha) {
+        BufferedImage resized = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    // Another user's identical photo may already have this variant, possibly being served right now
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", "." + format);
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No image writer for " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
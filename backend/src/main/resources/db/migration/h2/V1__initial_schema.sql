@@ -0,0 +1,105 @@
+-- Schema as previously generated by Hibernate (ddl-auto=create-drop)
+
+create sequence user_skills_seq start with 1 increment by 50;
+
+create table users (
+    id bigint generated by default as identity,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null unique,
+    password varchar(255) not null,
+    email_verified boolean not null,
+    active boolean not null,
+    is_profile_public boolean not null,
+    receive_notifications boolean not null,
+    bio varchar(1000),
+    location varchar(100),
+    profile_photo varchar(500),
+    profile_photo_variants varchar(1000),
+    average_rating float(53) not null,
+    total_reviews integer not null,
+    completed_swaps integer not null,
+    availability enum ('FLEXIBLE','WEEKEND','WORKING'),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    roles enum ('ADMIN','MODERATOR','USER')
+);
+
+create table skills (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    category varchar(255) not null,
+    description varchar(500),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table user_skills (
+    id bigint not null,
+    user_id bigint not null,
+    skill_id bigint not null,
+    type enum ('OFFERED','WANTED') not null,
+    proficiency_level integer not null,
+    primary key (id)
+);
+
+create table user_skills_offered (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    skill_id bigint not null,
+    description varchar(500),
+    proficiency_level enum ('ADVANCED','BEGINNER','EXPERT','INTERMEDIATE'),
+    years_experience integer,
+    primary key (id)
+);
+
+create table connection_requests (
+    id bigint generated by default as identity,
+    sender_id bigint not null,
+    receiver_id bigint not null,
+    open_pair varchar(41) unique,
+    message varchar(1000),
+    status enum ('ACCEPTED','CANCELLED','DECLINED','PENDING') not null,
+    created_at timestamp(6),
+    responded_at timestamp(6),
+    primary key (id)
+);
+
+create table email_verification_tokens (
+    id bigint generated by default as identity,
+    token varchar(255) not null unique,
+    user_id bigint not null unique,
+    expiry_date timestamp(6) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table email_outbox (
+    id bigint generated by default as identity,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body clob not null,
+    status enum ('DEAD','PENDING','SENT') not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_email_outbox_due on email_outbox (status, next_attempt_at);
+
+alter table user_roles add constraint fk_user_roles_user foreign key (user_id) references users (id);
+alter table user_skills add constraint fk_user_skills_user foreign key (user_id) references users (id);
+alter table user_skills add constraint fk_user_skills_skill foreign key (skill_id) references skills (id);
+alter table user_skills_offered add constraint fk_user_skills_offered_user foreign key (user_id) references users (id);
+alter table user_skills_offered add constraint fk_user_skills_offered_skill foreign key (skill_id) references skills (id);
+alter table connection_requests add constraint fk_connection_requests_sender foreign key (sender_id) references users (id);
+alter table connection_requests add constraint fk_connection_requests_receiver foreign key (receiver_id) references users (id);
+alter table email_verification_tokens add constraint fk_email_verification_tokens_user foreign key (user_id) references users (id);
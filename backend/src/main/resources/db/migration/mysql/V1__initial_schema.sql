@@ -0,0 +1,114 @@
+-- Schema as previously generated by Hibernate (ddl-auto=create-drop)
+
+create table users (
+    id bigint not null auto_increment,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null,
+    password varchar(255) not null,
+    email_verified bit not null,
+    active bit not null,
+    is_profile_public bit not null,
+    receive_notifications bit not null,
+    bio varchar(1000),
+    location varchar(100),
+    profile_photo varchar(500),
+    profile_photo_variants varchar(1000),
+    average_rating float(53) not null,
+    total_reviews integer not null,
+    completed_swaps integer not null,
+    availability enum ('FLEXIBLE','WEEKEND','WORKING'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    roles enum ('ADMIN','MODERATOR','USER')
+) engine=InnoDB;
+
+create table skills (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    category varchar(255) not null,
+    description varchar(500),
+    created_at datetime(6),
+    primary key (id),
+    constraint uk_skills_name unique (name)
+) engine=InnoDB;
+
+create table user_skills_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into user_skills_seq values (1);
+
+create table user_skills (
+    id bigint not null,
+    user_id bigint not null,
+    skill_id bigint not null,
+    type enum ('OFFERED','WANTED') not null,
+    proficiency_level integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_skills_offered (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    skill_id bigint not null,
+    description varchar(500),
+    proficiency_level enum ('ADVANCED','BEGINNER','EXPERT','INTERMEDIATE'),
+    years_experience integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table connection_requests (
+    id bigint not null auto_increment,
+    sender_id bigint not null,
+    receiver_id bigint not null,
+    open_pair varchar(41),
+    message varchar(1000),
+    status enum ('ACCEPTED','CANCELLED','DECLINED','PENDING') not null,
+    created_at datetime(6),
+    responded_at datetime(6),
+    primary key (id),
+    constraint uk_connection_requests_open_pair unique (open_pair)
+) engine=InnoDB;
+
+create table email_verification_tokens (
+    id bigint not null auto_increment,
+    token varchar(255) not null,
+    user_id bigint not null,
+    expiry_date datetime(6) not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_email_verification_tokens_token unique (token),
+    constraint uk_email_verification_tokens_user unique (user_id)
+) engine=InnoDB;
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body mediumtext not null,
+    status enum ('DEAD','PENDING','SENT') not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(1000),
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_due on email_outbox (status, next_attempt_at);
+
+alter table user_roles add constraint fk_user_roles_user foreign key (user_id) references users (id);
+alter table user_skills add constraint fk_user_skills_user foreign key (user_id) references users (id);
+alter table user_skills add constraint fk_user_skills_skill foreign key (skill_id) references skills (id);
+alter table user_skills_offered add constraint fk_user_skills_offered_user foreign key (user_id) references users (id);
+alter table user_skills_offered add constraint fk_user_skills_offered_skill foreign key (skill_id) references skills (id);
+alter table connection_requests add constraint fk_connection_requests_sender foreign key (sender_id) references users (id);
+alter table connection_requests add constraint fk_connection_requests_receiver foreign key (receiver_id) references users (id);
+alter table email_verification_tokens add constraint fk_email_verification_tokens_user foreign key (user_id) references users (id);
@@ -0,0 +1,32 @@
+-- Indexes shaped after the repository queries; RepositoryQueryPlanTest fails if one of those
+-- queries falls back to a full table scan.
+
+-- findPublicProfiles, findPublicProfilesFirst/After and countPublicProfiles: equality on the
+-- three visibility flags, then rows already in (average_rating desc, id) order, so a page stops
+-- after its last row instead of sorting every public profile. countActiveUsers uses the prefix.
+create index idx_users_public_rating on users (active, email_verified, is_profile_public, average_rating desc, id);
+
+-- findByEmailAndActiveTrue and findActiveIdByEmail; the unique email index finds the row,
+-- this one also answers the active check and the id without reading it
+create index idx_users_email_active on users (email, active);
+
+-- findByUserAndType, deleteByUserAndType, findByUser and findSkillIdsByUserIds
+create index idx_user_skills_user_type on user_skills (user_id, type, skill_id);
+
+-- countOfferedSkills and countOfferingUsersBySkill
+create index idx_user_skills_type_skill on user_skills (type, skill_id, user_id);
+
+-- Inbox: findByReceiverAndStatus, findReceivedSummaries (newest first by id), acceptPending/declinePending
+create index idx_connection_requests_receiver_status on connection_requests (receiver_id, status, id);
+
+-- Outbox: findBySenderAndStatus, findSentSummaries, findBySenderAndReceiver
+create index idx_connection_requests_sender_status on connection_requests (sender_id, status, id);
+
+-- findStalePendingIds and countSuccessfulConnections
+create index idx_connection_requests_status_created on connection_requests (status, created_at);
+
+-- findExpiredIds
+create index idx_email_verification_tokens_expiry on email_verification_tokens (expiry_date);
+
+-- findByNameIgnoreCase compares upper(name); H2 has no expression indexes, MySQL 8.0.13+ does
+create index idx_skills_name_upper on skills ((upper(name)));
@@ -0,0 +1,2 @@
+-- The dispatcher claims rows as SENDING (with next_attempt_at as the lease expiry) before the SMTP call
+alter table email_outbox modify status enum ('DEAD','PENDING','SENDING','SENT') not null;
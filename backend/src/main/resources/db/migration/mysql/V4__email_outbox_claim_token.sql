@@ -0,0 +1,3 @@
+-- Set by the dispatcher's batch claim so it can read back exactly the rows it won, and checked
+-- again when the outcome is written
+alter table email_outbox add column claim_token varchar(36);
@@ -0,0 +1,70 @@
+package com.hackathon.backend.config;
+
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget",
+        "app.db.query-budget=0"
+})
+@AutoConfigureMockMvc
+class QueryBudgetInterceptorTest {
+
+    private static final String ENDPOINT = "ProfileController.getProfile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsStatementsPerEndpointAndFlagsBudget() throws Exception {
+        User user = new User("Budget", "Tester", "budget@example.com", "secret123");
+        user.setEmailVerified(true);
+        user.setIsProfilePublic(true);
+        user = userRepository.save(user);
+
+        mockMvc.perform(get("/api/profiles/{id}", user.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("db.request.statements").tag("endpoint", ENDPOINT).summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+        assertTrue(meterRegistry.get("db.request.entities.loaded").tag("endpoint", ENDPOINT).summary().totalAmount() > 0);
+        assertEquals(1, meterRegistry.get("db.request.budget.exceeded").tag("endpoint", ENDPOINT).counter().count());
+
+        // Statements outside a request are not charged to any endpoint
+        userRepository.findAll();
+        assertEquals(statements.totalAmount(),
+                meterRegistry.get("db.request.statements").tag("endpoint", ENDPOINT).summary().totalAmount());
+    }
+
+    @Test
+    void asyncHandlerDoesNotLeaveStatsOnTheServletThread() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"nobody@example.com\", \"password\": \"wrong-password\"}"))
+                .andExpect(request().asyncStarted());
+
+        assertNull(RequestQueryStats.current());
+    }
+}
@@ -0,0 +1,231 @@
+package com.hackathon.backend.config;
+
+import com.hackathon.backend.security.JwtUtils;
+import com.hackathon.backend.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two embedded H2 databases stand in for primary and replica. The replica holds a marker row
+// the primary does not have, so each query shows which side served it. A third replica URL
+// points at nothing and has to be ejected.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "app.datasource.replicas.urls=" + ReadWriteRoutingDataSourceTest.REPLICA_URL + ",jdbc:h2:tcp://localhost:1/missing",
+        "app.datasource.replicas.connection-timeout=1s",
+        "app.datasource.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final String MARKER = "Replica Marker";
+
+    private static final long SENDER_ID = 9001;
+    private static final long RECEIVER_ID = 9002;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void prepareReplica() throws Exception {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into skills (name, category) values ('" + MARKER + "', 'Test')");
+            insertUser(statement, SENDER_ID, "osiv-sender@example.com");
+            insertUser(statement, RECEIVER_ID, "osiv-receiver@example.com");
+        }
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertTrue(servedByReplica(true));
+        assertTrue(!servedByReplica(false));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@example.com", null, List.of()));
+        assertTrue(servedByReplica(true));
+
+        transaction(false).executeWithoutResult(status ->
+                jdbcTemplate.update("insert into skills (name, category) values ('Routing Write', 'Test')"));
+
+        assertTrue(!servedByReplica(true));
+    }
+
+    @Test
+    void unreachableReplicaIsEjected() throws Exception {
+        dataSource.unwrap(ReadWriteRoutingDataSource.class).checkReplicas();
+
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").tag("target", "replica-0").gauge().value());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("target", "replica-1").gauge().value());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(servedByReplica(true));
+        }
+    }
+
+    // Hikari pools refuse per-call credentials, so these targets open plain driver connections
+    // with the ones they are given
+    @Test
+    void connectionsWithCredentialsAreRoutedLikeAnyOther() throws Exception {
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                credentialed("jdbc:h2:mem:routing-primary", "primary-credentials"),
+                List.of(credentialed(REPLICA_URL, "replica-credentials")),
+                Duration.ofMinutes(1), () -> null, Duration.ofSeconds(1), new SimpleMeterRegistry())) {
+            assertTrue(!hasMarker(routing.getConnection("sa", "password")));
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                assertTrue(hasMarker(routing.getConnection("sa", "password")));
+                assertThrows(SQLException.class, () -> routing.getConnection("sa", "wrong"));
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+
+        // The pools in the application report the missing support the JDBC way, and a replica
+        // is not ejected for it
+        ReadWriteRoutingDataSource routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        transaction(true).executeWithoutResult(status ->
+                assertThrows(SQLFeatureNotSupportedException.class, () -> routing.getConnection("sa", "password")));
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").tag("target", "replica-0").gauge().value());
+    }
+
+    // Through the whole web stack, so the request runs inside the open-in-view session: the
+    // service reads users in read-only transactions and then inserts outside of them
+    @Test
+    void writeAfterReadInSameRequestGoesToPrimary() throws Exception {
+        assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION,
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                        .getSessionFactoryOptions().getPhysicalConnectionHandlingMode());
+        jdbcTemplate.execute((Statement statement) -> {
+            insertUser(statement, SENDER_ID, "osiv-sender@example.com");
+            insertUser(statement, RECEIVER_ID, "osiv-receiver@example.com");
+            return null;
+        });
+        UserPrincipal sender = new UserPrincipal(SENDER_ID, "osiv-sender@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(sender, null, sender.getAuthorities()));
+
+        mockMvc.perform(post("/api/connections/request")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"receiverId\": " + RECEIVER_ID + ", \"message\": \"hi\"}"))
+                .andExpect(status().isOk());
+
+        String sent = "select count(*) from connection_requests where sender_id = " + SENDER_ID;
+        assertEquals(1, jdbcTemplate.queryForObject(sent, Integer.class));
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sent)) {
+            rows.next();
+            assertEquals(0, rows.getInt(1));
+        }
+    }
+
+    private static void insertUser(Statement statement, long id, String email) throws SQLException {
+        statement.executeUpdate("insert into users (id, first_name, last_name, email, password, email_verified, active,"
+                + " is_profile_public, receive_notifications, average_rating, total_reviews, completed_swaps)"
+                + " values (" + id + ", 'Osiv', 'User', '" + email + "', 'secret', true, true, true, true, 0, 0, 0)");
+    }
+
+    private static HikariDataSource credentialed(String url, String poolName) {
+        HikariDataSource pool = new HikariDataSource() {
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return DriverManager.getConnection(getJdbcUrl(), username, password);
+            }
+        };
+        pool.setJdbcUrl(url);
+        pool.setPoolName(poolName);
+        return pool;
+    }
+
+    private static boolean hasMarker(Connection connection) throws SQLException {
+        try (connection;
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select count(*) from skills where name = '" + MARKER + "'")) {
+            rows.next();
+            return rows.getInt(1) > 0;
+        }
+    }
+
+    private boolean servedByReplica(boolean readOnly) {
+        Integer markers = transaction(readOnly).execute(status -> jdbcTemplate.queryForObject(
+                "select count(*) from skills where name = ?", Integer.class, MARKER));
+        return markers != null && markers > 0;
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+}
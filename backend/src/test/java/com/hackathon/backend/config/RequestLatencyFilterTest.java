@@ -0,0 +1,52 @@
+package com.hackathon.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:request-latency")
+@AutoConfigureMockMvc
+class RequestLatencyFilterTest {
+
+    private static final String LOGIN = "http POST /api/auth/login ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LatencyHistograms latencyHistograms;
+
+    // Login completes on the login executor; the sample must wait for it and take its status
+    @Test
+    void asyncRequestIsRecordedOnCompletionWithFinalStatus() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"nobody@example.com\", \"password\": \"wrong-password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+
+        latencyHistograms.rotate();
+        assertFalse(latencyHistograms.snapshot().containsKey(LOGIN + "2xx"));
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isBadRequest());
+
+        latencyHistograms.rotate();
+        Map<String, Map<String, Map<String, Object>>> snapshot = latencyHistograms.snapshot();
+        assertFalse(snapshot.containsKey(LOGIN + "2xx"));
+        assertEquals(1L, snapshot.get(LOGIN + "4xx").get("1m").get("count"));
+    }
+}
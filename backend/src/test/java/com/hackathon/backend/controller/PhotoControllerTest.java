@@ -0,0 +1,163 @@
+package com.hackathon.backend.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Range and conditional handling of /uploads/profile-photos/** over a 100-byte stored photo
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:photo-controller")
+@AutoConfigureMockMvc
+class PhotoControllerTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final String URL = "/uploads/profile-photos/ab/ab/" + HASH + ".png";
+    private static final String ETAG = "\"" + HASH + "\"";
+    private static final Instant MODIFIED = Instant.parse("2026-01-15T10:00:00Z");
+    private static final byte[] BYTES = new byte[100];
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("app.uploads.profile-photos-dir", () -> uploadDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void storePhoto() throws Exception {
+        for (int i = 0; i < BYTES.length; i++) {
+            BYTES[i] = (byte) i;
+        }
+        Path file = uploadDir.resolve("ab/ab/" + HASH + ".png");
+        Files.createDirectories(file.getParent());
+        Files.write(file, BYTES);
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+    }
+
+    @Test
+    void fullResponseCarriesValidators() throws Exception {
+        mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFIED.toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().bytes(BYTES));
+    }
+
+    @Test
+    void missingOrUnsafeNamesAreNotServed() throws Exception {
+        mockMvc.perform(get("/uploads/profile-photos/ab/ab/missing.png")).andExpect(status().isNotFound());
+        // Not a plain relative name
+        mockMvc.perform(get("/uploads/profile-photos/ab/ab/" + HASH + ".tar.png")).andExpect(status().isNotFound());
+        // Traversal is already refused by the security firewall
+        mockMvc.perform(get("/uploads/profile-photos/ab/../ab/" + HASH + ".png")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void singleRanges() throws Exception {
+        expectRange("bytes=10-19", 10, 19);
+        // Suffix: the last 10 bytes
+        expectRange("bytes=-10", 90, 99);
+        // Open-ended
+        expectRange("bytes=95-", 95, 99);
+        // End past the file is clamped
+        expectRange("bytes=90-500", 90, 99);
+        // Suffix longer than the file is the whole file
+        expectRange("bytes=-500", 0, 99);
+    }
+
+    @Test
+    void unsatisfiableRangesAre416() throws Exception {
+        for (String range : new String[]{"bytes=100-", "bytes=100-200", "bytes=-0", "bytes=20-10"}) {
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+        }
+    }
+
+    // Multiple ranges and headers we do not understand are ignored, which the spec allows
+    @Test
+    void multiOrMalformedRangesGetTheWholeFile() throws Exception {
+        for (String range : new String[]{"bytes=0-1,5-6", "items=0-1", "bytes=a-b", "bytes=10"}) {
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(BYTES));
+        }
+    }
+
+    @Test
+    void ifRangeOnlyAppliesToTheCurrentValidator() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BYTES));
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, httpDate(MODIFIED)))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, httpDate(MODIFIED.minusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BYTES));
+    }
+
+    @Test
+    void conditionalRequests() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED.minusSeconds(60))))
+                .andExpect(status().isOk());
+
+        // If-None-Match wins over If-Modified-Since when both are sent
+        mockMvc.perform(get(URL)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED.plusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BYTES));
+    }
+
+    private void expectRange(String range, int start, int end) throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, range))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/100"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, end - start + 1))
+                .andExpect(content().bytes(Arrays.copyOfRange(BYTES, start, end + 1)));
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,170 @@
+package com.hackathon.backend.controller;
+
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.security.JwtUtils;
+import com.hackathon.backend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Uploads against a 1KB cap: size violations answer 413 however the size became known,
+// anything that is not a supported image answers 400, and the type comes from the bytes alone.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:photo-upload",
+        "app.uploads.max-photo-size=1KB"
+})
+@AutoConfigureMockMvc
+class ProfilePhotoUploadTest {
+
+    private static final int CAP = 1024;
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("app.uploads.profile-photos-dir", () -> uploadDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void seedUser() {
+        User uploader = new User("Photo", "Uploader", "photo-uploader@example.com", "secret123");
+        uploader.setEmailVerified(true);
+        user = userRepository.save(uploader);
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void typeIsSniffedFromTheContent() throws Exception {
+        int[][] signatures = {
+                {0xFF, 0xD8, 0xFF, 0xE0},
+                {0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A},
+                {'G', 'I', 'F', '8', '9', 'a'},
+                {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'}
+        };
+        String[] extensions = {".jpg", ".png", ".gif", ".webp"};
+        for (int i = 0; i < signatures.length; i++) {
+            mockMvc.perform(rawUpload(image(signatures[i], 200 + i))).andExpect(status().isOk());
+            String photo = userRepository.findById(user.getId()).orElseThrow().getProfilePhoto();
+            assertTrue(photo.endsWith(extensions[i]), photo);
+        }
+
+        // The declared type and name do not matter, only the bytes
+        mockMvc.perform(multipart("/api/profile/me/photo")
+                        .file(new MockMultipartFile("photo", "photo.png", "image/png", "not an image at all".getBytes()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(rawUpload(new byte[0])).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void oversizedUploadsAreRejectedWith413() throws Exception {
+        byte[] oversized = image(new int[]{0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}, CAP + 1);
+
+        // Declared Content-Length, refused before reading
+        mockMvc.perform(rawUpload(oversized)).andExpect(status().isPayloadTooLarge());
+        // No Content-Length, cut off while streaming
+        mockMvc.perform(rawUpload(oversized).with(withoutContentLength())).andExpect(status().isPayloadTooLarge());
+        // Multipart file over the cap
+        mockMvc.perform(multipart("/api/profile/me/photo")
+                        .file(new MockMultipartFile("photo", "photo.png", "image/png", oversized))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertNull(userRepository.findById(user.getId()).orElseThrow().getProfilePhoto());
+
+        // Exactly at the cap is fine, also when streamed without a length
+        byte[] atCap = Arrays.copyOf(oversized, CAP);
+        mockMvc.perform(rawUpload(atCap).with(withoutContentLength())).andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder rawUpload(byte[] body) {
+        return put("/api/profile/me/photo")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(body);
+    }
+
+    // The mock request always reports the length of its content; this copy reports none,
+    // as a chunked request does
+    private static RequestPostProcessor withoutContentLength() {
+        return request -> {
+            MockHttpServletRequest unlabelled = new MockHttpServletRequest(
+                    request.getServletContext(), request.getMethod(), request.getRequestURI()) {
+                @Override
+                public int getContentLength() {
+                    return -1;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return -1;
+                }
+            };
+            for (String name : Collections.list(request.getHeaderNames())) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    unlabelled.addHeader(name, value);
+                }
+            }
+            unlabelled.setContent(request.getContentAsByteArray());
+            return unlabelled;
+        };
+    }
+
+    private static byte[] image(int[] signature, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < signature.length; i++) {
+            bytes[i] = (byte) signature[i];
+        }
+        for (int i = signature.length; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
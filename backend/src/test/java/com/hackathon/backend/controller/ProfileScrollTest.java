@@ -0,0 +1,175 @@
+package com.hackathon.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.backend.dto.ProfileCursorResponse;
+import com.hackathon.backend.dto.UserProfileDTO;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.service.ProfileSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Keyset pages of /api/profiles/scroll, with most profiles tied on averageRating so that
+// page boundaries fall inside a tie
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:profile-scroll")
+@AutoConfigureMockMvc
+class ProfileScrollTest {
+
+    private static final double[] RATINGS = {4.0, 3.0, 4.0, 0.0, 4.0, 5.0, 4.0, 0.0};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileSearchIndex searchIndex;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    // Public profile ids in (averageRating DESC, id ASC) order
+    private List<Long> expectedOrder;
+
+    @BeforeEach
+    void seedProfiles() {
+        List<User> visible = new ArrayList<>();
+        for (int i = 0; i < RATINGS.length; i++) {
+            User user = new User("Scroller" + i, "Keysetton", "scroll-" + i + "@example.com", "secret123");
+            user.setEmailVerified(true);
+            user.setAverageRating(RATINGS[i]);
+            visible.add(userRepository.save(user));
+            userIds.add(user.getId());
+        }
+
+        // Never listed, even though one is tied with the others and both match the search
+        User hidden = new User("Hidden", "Keysetton", "scroll-hidden@example.com", "secret123");
+        hidden.setEmailVerified(true);
+        hidden.setAverageRating(4.0);
+        hidden.setIsProfilePublic(false);
+        userIds.add(userRepository.save(hidden).getId());
+        User unverified = new User("Unverified", "Keysetton", "scroll-unverified@example.com", "secret123");
+        unverified.setAverageRating(4.0);
+        userIds.add(userRepository.save(unverified).getId());
+
+        expectedOrder = visible.stream()
+                .sorted((a, b) -> a.getAverageRating().equals(b.getAverageRating())
+                        ? Long.compare(a.getId(), b.getId())
+                        : Double.compare(b.getAverageRating(), a.getAverageRating()))
+                .map(User::getId)
+                .toList();
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllById(userIds);
+        userIds.clear();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void pagesThroughTiesWithoutDuplicatesOrGaps() throws Exception {
+        for (int size : new int[]{1, 2, 3, RATINGS.length, RATINGS.length + 1}) {
+            assertEquals(expectedOrder, scrollAll(size, null), "page size " + size);
+        }
+    }
+
+    @Test
+    void searchPagesThroughTiesWithoutDuplicatesOrGaps() throws Exception {
+        for (int size : new int[]{1, 2, 3, RATINGS.length}) {
+            assertEquals(expectedOrder, scrollAll(size, "keyset"), "page size " + size);
+        }
+    }
+
+    @Test
+    void totalIsOnlyCountedWhenAsked() throws Exception {
+        ProfileCursorResponse first = page(scroll(2, null).param("includeTotal", "true"));
+        assertEquals((long) RATINGS.length, first.getTotalElements());
+        assertNotNull(first.getNextCursor());
+
+        ProfileCursorResponse searched = page(scroll(2, "KEYSET ").param("includeTotal", "true"));
+        assertEquals((long) RATINGS.length, searched.getTotalElements());
+
+        assertNull(page(scroll(2, null)).getTotalElements());
+        assertNull(page(scroll(2, "keyset")).getTotalElements());
+
+        // The last page has no cursor
+        ProfileCursorResponse all = page(scroll(RATINGS.length, null).param("includeTotal", "true"));
+        assertEquals(RATINGS.length, all.getProfiles().size());
+        assertNull(all.getNextCursor());
+        assertFalse(all.isHasNext());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        String[] cursors = {
+                "not base64!",
+                encode("4.0"),
+                encode("four:12"),
+                encode("4.0:twelve"),
+                encode(":"),
+        };
+        for (String cursor : cursors) {
+            mockMvc.perform(scroll(2, null).param("cursor", cursor)).andExpect(status().isBadRequest());
+            mockMvc.perform(scroll(2, "keyset").param("cursor", cursor)).andExpect(status().isBadRequest());
+        }
+    }
+
+    private List<Long> scrollAll(int size, String search) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = scroll(size, search);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            ProfileCursorResponse response = page(request);
+            for (UserProfileDTO profile : response.getProfiles()) {
+                ids.add(profile.getId());
+            }
+            cursor = response.getNextCursor();
+        } while (cursor != null && ids.size() <= RATINGS.length);
+        return ids;
+    }
+
+    private MockHttpServletRequestBuilder scroll(int size, String search) {
+        MockHttpServletRequestBuilder request = get("/api/profiles/scroll").param("size", String.valueOf(size));
+        if (search != null) {
+            request.param("search", search);
+        }
+        return request;
+    }
+
+    private ProfileCursorResponse page(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ProfileCursorResponse.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,180 @@
+package com.hackathon.backend.repository;
+
+import com.hackathon.backend.entity.Availability;
+import com.hackathon.backend.entity.ConnectionRequest;
+import com.hackathon.backend.entity.EmailOutboxMessage;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.entity.UserSkill;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the repository queries on hot paths, captures the SQL Hibernate sends and asks H2 for
+// its plan. A plan that reads a whole table means an index from db/migration is missing.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.hackathon.backend.repository.RepositoryQueryPlanTest$CapturingInspector"
+})
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User sender;
+    private User receiver;
+
+    @BeforeEach
+    void seedUsers() {
+        sender = userRepository.findByEmail("plan-sender@example.com")
+                .orElseGet(() -> userRepository.save(new User("Plan", "Sender", "plan-sender@example.com", "secret123")));
+        receiver = userRepository.findByEmail("plan-receiver@example.com")
+                .orElseGet(() -> userRepository.save(new User("Plan", "Receiver", "plan-receiver@example.com", "secret123")));
+    }
+
+    @Test
+    void hotRepositoryQueriesDoNotScanWholeTables() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(sender.getId(), receiver.getId());
+        PageRequest page = PageRequest.of(0, 20);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail(sender.getEmail()));
+        queries.put("UserRepository.findByEmailAndActiveTrue", () -> userRepository.findByEmailAndActiveTrue(sender.getEmail()));
+        queries.put("UserRepository.findWithRolesByEmailAndActiveTrue", () -> userRepository.findWithRolesByEmailAndActiveTrue(sender.getEmail()));
+        queries.put("UserRepository.findActiveIdByEmail", () -> userRepository.findActiveIdByEmail(sender.getEmail()));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail(sender.getEmail()));
+        queries.put("UserRepository.existsByIdAndActiveTrue", () -> userRepository.existsByIdAndActiveTrue(sender.getId()));
+        queries.put("UserRepository.updatePassword", () -> userRepository.updatePassword(sender.getEmail(), "hash"));
+        queries.put("UserRepository.updatePhotoVariants", () -> userRepository.updatePhotoVariants(sender.getId(), "/a.jpg", null));
+        queries.put("UserRepository.findPublicProfiles", () -> userRepository.findPublicProfiles(page));
+        queries.put("UserRepository.findPublicProfilesFirst", () -> userRepository.findPublicProfilesFirst(Availability.WEEKEND, page));
+        queries.put("UserRepository.findPublicProfilesAfter", () -> userRepository.findPublicProfilesAfter(null, 4.5, 10L, page));
+        queries.put("UserRepository.countPublicProfiles", () -> userRepository.countPublicProfiles(null));
+        queries.put("UserRepository.countActiveUsers", () -> userRepository.countActiveUsers());
+        queries.put("UserRepository.findNotificationContacts", () -> userRepository.findNotificationContacts(ids));
+        queries.put("UserRepository.findPhotoReferences", () -> userRepository.findPhotoReferences(0L, page));
+        queries.put("UserSkillRepository.findByUserAndType", () -> userSkillRepository.findByUserAndType(sender, UserSkill.SkillType.OFFERED));
+        queries.put("UserSkillRepository.findByUser", () -> userSkillRepository.findByUser(sender));
+        queries.put("UserSkillRepository.findSkillIdsByUserIds", () -> userSkillRepository.findSkillIdsByUserIds(ids));
+        queries.put("UserSkillRepository.deleteByUserAndType", () -> userSkillRepository.deleteByUserAndType(sender, UserSkill.SkillType.WANTED));
+        queries.put("SkillRepository.countOfferedSkills", () -> skillRepository.countOfferedSkills());
+        queries.put("SkillRepository.countOfferingUsersBySkill", () -> skillRepository.countOfferingUsersBySkill());
+        queries.put("ConnectionRequestRepository.findByReceiverAndStatus", () -> connectionRequestRepository.findByReceiverAndStatus(receiver, ConnectionRequest.RequestStatus.PENDING));
+        queries.put("ConnectionRequestRepository.findBySenderAndStatus", () -> connectionRequestRepository.findBySenderAndStatus(sender, ConnectionRequest.RequestStatus.PENDING));
+        queries.put("ConnectionRequestRepository.findBySenderAndReceiver", () -> connectionRequestRepository.findBySenderAndReceiver(sender, receiver));
+        queries.put("ConnectionRequestRepository.findReceivedSummaries", () -> connectionRequestRepository.findReceivedSummaries(receiver.getId(), ConnectionRequest.RequestStatus.PENDING, 100L, page));
+        queries.put("ConnectionRequestRepository.findSentSummaries", () -> connectionRequestRepository.findSentSummaries(sender.getId(), ConnectionRequest.RequestStatus.PENDING, null, page));
+        queries.put("ConnectionRequestRepository.acceptPending", () -> connectionRequestRepository.acceptPending(List.of(1L), receiver.getId(), now));
+        queries.put("ConnectionRequestRepository.declinePending", () -> connectionRequestRepository.declinePending(List.of(1L), receiver.getId(), now));
+        queries.put("ConnectionRequestRepository.findStalePendingIds", () -> connectionRequestRepository.findStalePendingIds(now, 0L, page));
+        queries.put("ConnectionRequestRepository.findParticipantsByIds", () -> connectionRequestRepository.findParticipantsByIds(ids));
+        queries.put("ConnectionRequestRepository.countSuccessfulConnections", () -> connectionRequestRepository.countSuccessfulConnections());
+        queries.put("EmailVerificationTokenRepository.findByToken", () -> tokenRepository.findByToken("token"));
+        queries.put("EmailVerificationTokenRepository.findByUser", () -> tokenRepository.findByUser(sender));
+        queries.put("EmailVerificationTokenRepository.findExpiredIds", () -> tokenRepository.findExpiredIds(now, 0L, page));
+        queries.put("EmailOutboxRepository.findDueIds", () -> outboxRepository.findDueIds(now, page));
+        queries.put("EmailOutboxRepository.claim", () -> outboxRepository.claim(ids, now, now, "token"));
+        queries.put("EmailOutboxRepository.findClaimed", () -> outboxRepository.findClaimed(ids, "token"));
+        queries.put("EmailOutboxRepository.markSent", () -> outboxRepository.markSent(ids, "token", now));
+        queries.put("EmailOutboxRepository.markFailed", () -> outboxRepository.markFailed(1L, "token",
+                EmailOutboxMessage.Status.PENDING, 1, "error", now));
+        queries.put("EmailOutboxRepository.countByStatus", () -> outboxRepository.countByStatus(EmailOutboxMessage.Status.DEAD));
+
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            for (String sql : capture(query.getValue())) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    fullScans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+        }
+
+        assertTrue(fullScans.isEmpty(), () -> "Queries without a usable index:\n\n" + String.join("\n\n", fullScans));
+    }
+
+    // SQL issued while the query runs; writes are rolled back
+    private List<String> capture(Runnable query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> statements = new ArrayList<>();
+        CapturingInspector.CAPTURED.set(statements);
+        try {
+            transaction.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            CapturingInspector.CAPTURED.remove();
+        }
+        return statements.stream()
+                .filter(sql -> !sql.trim().toLowerCase(Locale.ROOT).startsWith("insert"))
+                .toList();
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1));
+                }
+                return text.toString();
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = CAPTURED.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
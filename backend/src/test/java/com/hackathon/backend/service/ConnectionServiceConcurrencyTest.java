@@ -0,0 +1,150 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.ApiResponse;
+import com.hackathon.backend.dto.ConnectionRequestDTO;
+import com.hackathon.backend.entity.ConnectionRequest;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.ConnectionRequestRepository;
+import com.hackathon.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ConnectionServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Autowired
+    private ConnectionRequestRepository connectionRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User sender;
+    private User receiver;
+
+    @BeforeEach
+    void seedUsers() {
+        sender = userRepository.save(verified(new User("Race", "Sender", "race-sender@example.com", "secret123")));
+        receiver = userRepository.save(verified(new User("Race", "Receiver", "race-receiver@example.com", "secret123")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        connectionRequestRepository.deleteAll(connectionRequestRepository.findAll().stream()
+                .filter(cr -> cr.getSender().getId().equals(sender.getId()))
+                .toList());
+        userRepository.deleteAllById(List.of(sender.getId(), receiver.getId()));
+    }
+
+    @Test
+    void parallelSendsCreateOneRequest() throws Exception {
+        List<ApiResponse> responses = race(index -> connectionService.sendConnectionRequest(
+                sender.getEmail(), request(receiver.getId())));
+
+        assertEquals(1, successes(responses));
+        assertEquals(1, requestsFromSender().size());
+    }
+
+    @Test
+    void parallelAcceptsSucceedOnce() throws Exception {
+        Long requestId = sendOne();
+
+        List<ApiResponse> responses = race(index -> connectionService.acceptConnectionRequest(
+                receiver.getEmail(), requestId));
+
+        assertEquals(1, successes(responses));
+        assertEquals(ConnectionRequest.RequestStatus.ACCEPTED,
+                connectionRequestRepository.findById(requestId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void acceptAndDeclineRaceHasOneWinner() throws Exception {
+        Long requestId = sendOne();
+
+        // Even tasks accept, odd tasks decline
+        List<ApiResponse> responses = race(index -> index % 2 == 0
+                ? connectionService.acceptConnectionRequest(receiver.getEmail(), requestId)
+                : connectionService.declineConnectionRequest(receiver.getEmail(), requestId));
+
+        assertEquals(1, successes(responses));
+    }
+
+    @Test
+    void declinedRequestCanBeSentAgain() {
+        Long requestId = sendOne();
+        connectionService.declineConnectionRequest(receiver.getEmail(), requestId);
+
+        ApiResponse again = connectionService.sendConnectionRequest(sender.getEmail(), request(receiver.getId()));
+
+        assertTrue(again.isSuccess());
+        assertEquals(2, requestsFromSender().size());
+    }
+
+    private Long sendOne() {
+        connectionService.sendConnectionRequest(sender.getEmail(), request(receiver.getId()));
+        return requestsFromSender().get(0).getId();
+    }
+
+    private List<ConnectionRequest> requestsFromSender() {
+        return connectionRequestRepository.findAll().stream()
+                .filter(cr -> cr.getSender().getId().equals(sender.getId()))
+                .toList();
+    }
+
+    // Runs the action on THREADS threads at once; each call gets its task index
+    private List<ApiResponse> race(IntFunction<ApiResponse> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ApiResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return action.apply(index);
+                }));
+            }
+            start.countDown();
+
+            List<ApiResponse> responses = new ArrayList<>();
+            for (Future<ApiResponse> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long successes(List<ApiResponse> responses) {
+        return responses.stream().filter(ApiResponse::isSuccess).count();
+    }
+
+    private static ConnectionRequestDTO request(Long receiverId) {
+        return new ConnectionRequestDTO(receiverId, "Let's swap skills");
+    }
+
+    private static User verified(User user) {
+        user.setEmailVerified(true);
+        return user;
+    }
+}
@@ -0,0 +1,202 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.ApiResponse;
+import com.hackathon.backend.dto.RegisterRequest;
+import com.hackathon.backend.entity.EmailOutboxMessage;
+import com.hackathon.backend.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox-test",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        // Dispatch is driven by the tests, not the scheduler
+        "app.mail.outbox.poll-interval-ms=3600000",
+        "app.mail.outbox.max-attempts=2",
+        "app.mail.outbox.initial-backoff=0s"
+})
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void registrationQueuesEmailAndDispatcherDeliversIt() throws Exception {
+        ApiResponse response = authService.register(register("outbox-one@example.com"));
+
+        assertTrue(response.isSuccess());
+        // Nothing is sent inside the registration request
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        List<EmailOutboxMessage> queued = outboxRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(EmailOutboxMessage.Status.PENDING, queued.get(0).getStatus());
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("outbox-one@example.com", received[0].getAllRecipients()[0].toString());
+        assertTrue(received[0].getSubject().startsWith("Email Verification"));
+        assertEquals(EmailOutboxMessage.Status.SENT,
+                outboxRepository.findAll().get(0).getStatus());
+    }
+
+    @Test
+    void batchIsDeliveredInOneDispatch() {
+        for (int i = 0; i < 5; i++) {
+            authService.register(register("outbox-batch-" + i + "@example.com"));
+        }
+
+        dispatcher.dispatch();
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertTrue(outboxRepository.findAll().stream()
+                .allMatch(m -> m.getStatus() == EmailOutboxMessage.Status.SENT));
+    }
+
+    @Test
+    void batchIsClaimedAndRecordedWithoutStatementsPerRow() {
+        for (int i = 0; i < 10; i++) {
+            authService.register(register("outbox-statements-" + i + "@example.com"));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsWereEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            dispatcher.dispatch();
+
+            // due ids + claim + claimed rows + sent, then the two gauge counts
+            long executed = statistics.getPrepareStatementCount();
+            assertTrue(executed <= 6, executed + " statements were executed");
+        } finally {
+            statistics.setStatisticsEnabled(statisticsWereEnabled);
+        }
+
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertTrue(outboxRepository.findAll().stream()
+                .allMatch(m -> m.getStatus() == EmailOutboxMessage.Status.SENT && m.getClaimToken() == null));
+    }
+
+    @Test
+    void concurrentDispatchersSendEachMessageOnce() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            authService.register(register("outbox-race-" + i + "@example.com"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    dispatcher.dispatch();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertTrue(outboxRepository.findAll().stream()
+                .allMatch(m -> m.getStatus() == EmailOutboxMessage.Status.SENT));
+    }
+
+    @Test
+    void claimedMessageIsSentAgainOnlyAfterItsLeaseExpires() {
+        authService.register(register("outbox-lease@example.com"));
+        // As left behind by an instance that claimed the row and crashed before sending
+        EmailOutboxMessage message = outboxRepository.findAll().get(0);
+        message.setStatus(EmailOutboxMessage.Status.SENDING);
+        message.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        outboxRepository.save(message);
+
+        dispatcher.dispatch();
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(message);
+
+        dispatcher.dispatch();
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(EmailOutboxMessage.Status.SENT, outboxRepository.findAll().get(0).getStatus());
+    }
+
+    @Test
+    void unreachableServerIsRetriedThenDeadLettered() {
+        authService.register(register("outbox-dead@example.com"));
+        greenMail.stop();
+        double deadBefore = meterRegistry.counter("mail.outbox.dead.lettered").count();
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = outboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+
+        dispatcher.dispatch();
+
+        message = outboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxMessage.Status.DEAD, message.getStatus());
+        assertEquals(2, message.getAttempts());
+        assertTrue(message.getLastError() != null);
+        assertEquals(deadBefore + 1, meterRegistry.counter("mail.outbox.dead.lettered").count());
+    }
+
+    private static RegisterRequest register(String email) {
+        return new RegisterRequest("Outbox", "Tester", email, "secret123");
+    }
+}
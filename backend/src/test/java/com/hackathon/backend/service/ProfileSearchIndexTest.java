@@ -0,0 +1,179 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.UpdateSkillsRequest;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.repository.UserSkillRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProfileSearchIndexTest {
+
+    private static final String LONG_SKILL = "Distributedconsensusprotocolsandquorums";
+
+    @Autowired
+    private ProfileSearchIndex searchIndex;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private Long quokka;
+    private Long wombat;
+
+    @BeforeEach
+    void seedProfiles() {
+        quokka = seed("Quokka", "Marbleton", "search-index-quokka@example.com", 4.0,
+                List.of("Zephyrscript", LONG_SKILL));
+        wombat = seed("Wombat", "Tarnhollow", "search-index-wombat@example.com", 4.5,
+                List.of("Zephyrscript"));
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userSkillRepository.deleteAll(userSkillRepository.findAll().stream()
+                .filter(us -> userIds.contains(us.getUser().getId()))
+                .toList());
+        userRepository.deleteAllById(userIds);
+        userIds.clear();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void anyPartOfANameOrSkillMatches() {
+        assertEquals(List.of(quokka), searchIndex.search("okka", null));
+        assertEquals(List.of(quokka), searchIndex.search("bleton", null));
+        assertEquals(List.of(quokka), searchIndex.search("marbleton", null));
+        // Best rated first
+        assertEquals(List.of(wombat, quokka), searchIndex.search("hyrscr", null));
+
+        // First and last name are separate values, a match cannot span both
+        assertEquals(List.of(), searchIndex.search("okkamar", null));
+        assertEquals(List.of(), searchIndex.search("bletonx", null));
+    }
+
+    // Terms are cut at 32 characters; longer queries must still match the whole value
+    @Test
+    void queriesLongerThanATermAreVerified() {
+        assertEquals(List.of(quokka), searchIndex.search(LONG_SKILL.substring(3), null));
+        assertEquals(List.of(), searchIndex.search(LONG_SKILL.substring(3, 35) + "xyz", null));
+    }
+
+    @Test
+    void queryIsTrimmedAndCaseInsensitive() {
+        assertEquals(List.of(quokka), searchIndex.search("  QUOKKA \t", null));
+        assertEquals(1, searchIndex.count(" marbleTON ", null));
+        assertEquals(List.of(), searchIndex.search("   ", null));
+        assertEquals(List.of(), searchIndex.search(null, null));
+    }
+
+    @Test
+    void rebuildsWhenTheApplicationIsReady() {
+        Long capybara = seed("Capybara", "Brookwade", "search-index-capybara@example.com", 3.0, List.of());
+        assertEquals(List.of(), searchIndex.search("capybara", null));
+
+        context.publishEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+
+        assertEquals(List.of(capybara), searchIndex.search("capybara", null));
+    }
+
+    @Test
+    void userChangesApplyOnlyAfterCommit() {
+        inTransaction(true, () -> {
+            User user = userRepository.findById(quokka).orElseThrow();
+            user.setLastName("Armadillon");
+            searchIndex.indexUser(user);
+        });
+        assertEquals(List.of(), searchIndex.search("armadillon", null));
+        assertEquals(List.of(quokka), searchIndex.search("marbleton", null));
+
+        inTransaction(false, () -> {
+            User user = userRepository.findById(quokka).orElseThrow();
+            user.setLastName("Pangolino");
+            searchIndex.indexUser(user);
+            assertEquals(List.of(), searchIndex.search("pangolino", null));
+        });
+        assertEquals(List.of(quokka), searchIndex.search("pangolino", null));
+        assertEquals(List.of(), searchIndex.search("marbleton", null));
+        // Skills are kept
+        assertEquals(List.of(wombat, quokka), searchIndex.search("zephyrscript", null));
+    }
+
+    @Test
+    void skillChangesApplyOnlyAfterCommit() {
+        inTransaction(true, () -> searchIndex.indexSkills(quokka, List.of("Yodelcraft")));
+        assertEquals(List.of(), searchIndex.search("yodel", null));
+        assertEquals(List.of(wombat, quokka), searchIndex.search("zephyr", null));
+
+        inTransaction(false, () -> {
+            searchIndex.indexSkills(quokka, List.of("Yodelcraft"));
+            assertEquals(List.of(), searchIndex.search("yodel", null));
+        });
+        assertEquals(List.of(quokka), searchIndex.search("yodel", null));
+        assertEquals(List.of(wombat), searchIndex.search("zephyr", null));
+    }
+
+    @Test
+    void removalAppliesOnlyAfterCommit() {
+        inTransaction(true, () -> searchIndex.remove(wombat));
+        assertEquals(List.of(wombat), searchIndex.search("tarnhollow", null));
+
+        inTransaction(false, () -> {
+            searchIndex.remove(wombat);
+            assertEquals(List.of(wombat), searchIndex.search("tarnhollow", null));
+        });
+        assertEquals(List.of(), searchIndex.search("tarnhollow", null));
+        assertEquals(List.of(quokka), searchIndex.search("zephyr", null));
+    }
+
+    private Long seed(String firstName, String lastName, String email, double rating, List<String> skills) {
+        User user = new User(firstName, lastName, email, "secret123");
+        user.setEmailVerified(true);
+        user.setAverageRating(rating);
+        Long id = userRepository.save(user).getId();
+        userIds.add(id);
+        if (!skills.isEmpty()) {
+            profileService.updateUserSkills(email, new UpdateSkillsRequest(skills, List.of()));
+        }
+        return id;
+    }
+
+    private void inTransaction(boolean rollback, Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            work.run();
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.ProfileSearchResponse;
+import com.hackathon.backend.dto.UpdateSkillsRequest;
+import com.hackathon.backend.dto.UserProfileDTO;
+import com.hackathon.backend.entity.User;
+import com.hackathon.backend.repository.UserRepository;
+import com.hackathon.backend.repository.UserSkillRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProfileServiceQueryCountTest {
+
+    private static final int USERS = 12;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProfileSearchIndex searchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private Statistics statistics;
+
+    private boolean statisticsWereEnabled;
+
+    @BeforeEach
+    void seedProfiles() {
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("Query" + i, "Counter", "query-count-" + i + "@example.com", "secret123");
+            user.setEmailVerified(true);
+            user.setAverageRating((double) i);
+            userIds.add(userRepository.save(user).getId());
+
+            profileService.updateUserSkills(user.getEmail(), new UpdateSkillsRequest(
+                    List.of("QcSkill" + i, "QcShared"), List.of("QcWanted" + i)));
+        }
+        searchIndex.rebuild();
+
+        // Statistics are shared with the rest of the context; restored as found after each test
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsWereEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        statistics.setStatisticsEnabled(statisticsWereEnabled);
+        userSkillRepository.deleteAll(userSkillRepository.findAll().stream()
+                .filter(us -> userIds.contains(us.getUser().getId()))
+                .toList());
+        userRepository.deleteAllById(userIds);
+        userIds.clear();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void browsingAPageDoesNotQueryPerRow() {
+        ProfileSearchResponse response = profileService.searchProfiles(null, null, 0, USERS);
+
+        assertEquals(USERS, response.getProfiles().size());
+        assertTrue(response.getProfiles().stream().allMatch(p -> p.getSkillsOffered().size() == 2));
+        // page query + count query + one skills query for the whole page
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void searchingDoesNotQueryPerRow() {
+        ProfileSearchResponse response = profileService.searchProfiles("qcshared", null, 0, USERS);
+
+        assertEquals(USERS, response.getProfiles().size());
+        assertTrue(response.getProfiles().stream().allMatch(p -> p.getSkillsWanted().size() == 1));
+        // page of users + one skills query for the whole page
+        assertStatementsAtMost(2);
+    }
+
+    @Test
+    void publicProfileNeedsTwoQueries() {
+        UserProfileDTO profile = profileService.getPublicProfile(userIds.get(0));
+
+        assertEquals(List.of("QcSkill0", "QcShared"), profile.getSkillsOffered());
+        // user + skills, no roles
+        assertStatementsAtMost(2);
+    }
+
+    private void assertStatementsAtMost(long expected) {
+        long executed = statistics.getPrepareStatementCount();
+        assertTrue(executed <= expected,
+                "Expected at most " + expected + " statements but " + executed + " were executed");
+    }
+}
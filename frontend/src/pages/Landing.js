@@ -63,6 +63,7 @@ const Landing = () => {
       const params = new URLSearchParams({
         page: page.toString(),
         size: size.toString(),
+        photoSize: '256',
         ...(search && { search }),
         ...(availability && { availability })
       });
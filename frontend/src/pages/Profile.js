@@ -188,15 +188,15 @@ const Profile = () => {
 
     try {
       const token = localStorage.getItem('authToken');
-      const formData = new FormData();
-      formData.append('photo', file);
 
+      // Raw file body: the server streams it to storage instead of buffering a multipart form
       const response = await fetch(`${API_BASE_URL}/profile/me/photo`, {
-        method: 'POST',
+        method: 'PUT',
         headers: {
           'Authorization': `Bearer ${token}`,
+          'Content-Type': file.type || 'application/octet-stream',
         },
-        body: formData
+        body: file
       });
 
       if (response.ok) {